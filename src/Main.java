@@ -14,31 +14,91 @@ import java.io.IOException;
  * Main class to initialize controller and the model to start the application.
  */
 public class Main {
+  private static final String USAGE = "Usage: (-script <file> | -interactive)"
+      + " [-threads <number of threads>] [-compress] [-pipe]";
+
   /**
-   * Main method to run the program.
+   * Main method to run the program. The options can be given in any order
+   * before or after the mode of the program.
    *
    * @param args represents the command line arguments.
    */
   public static void main(String[] args) throws IOException {
-    if (args[0].equals("-script")) {
+    String mode = null;
+    String script = null;
+    int threads = 0;
+    boolean compress = false;
+    boolean pipe = false;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "-script":
+            mode = setMode(mode, args[i]);
+            script = getValue(args, ++i);
+            break;
+          case "-interactive":
+            mode = setMode(mode, args[i]);
+            break;
+          case "-threads":
+            threads = Integer.parseInt(getValue(args, ++i));
+            if (threads < 1) {
+              throw new IllegalArgumentException("Invalid number of threads.");
+            }
+            break;
+          case "-compress":
+            compress = true;
+            break;
+          case "-pipe":
+            pipe = true;
+            break;
+          default:
+            throw new IllegalArgumentException("Invalid option " + args[i] + ".");
+        }
+      }
+      if (null == mode) {
+        throw new IllegalArgumentException("Invalid Command");
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e instanceof NumberFormatException ? "Invalid number of threads."
+          : e.getMessage());
+      System.err.println(USAGE);
+      return;
+    }
+    ImageProcessingModel model = new ImageProcessingModelImpl();
+    if (threads > 0) {
+      model.setParallelism(threads);
+    }
+    model.setOriginalCompression(compress);
+    if (mode.equals("-script")) {
       try {
         File file = new File("");
-        ImageProcessingModel model = new ImageProcessingModelImpl();
         BufferedReader input = new BufferedReader(
-            new FileReader(file.getAbsolutePath() + "\\" + args[1]));
-        ImageController controller = new ImageControllerImpl(input, System.out);
+            new FileReader(file.getAbsolutePath() + "\\" + script));
+        ImageController controller = new ImageControllerImpl(input,
+            pipe ? System.err : System.out);
         controller.start(model);
       } catch (FileNotFoundException e) {
         System.out.println(e.getMessage());
       } catch (IOException e) {
         e.printStackTrace();
       }
-    } else if (args[0].equals("-interactive")) {
-      ImageProcessingModel model = new ImageProcessingModelImpl();
+    } else {
       ImageController controller = new ImageControllerInteractive();
       controller.start(model);
-    } else {
+    }
+  }
+
+  private static String setMode(String mode, String option) {
+    if (null != mode) {
       throw new IllegalArgumentException("Invalid Command");
     }
+    return option;
+  }
+
+  private static String getValue(String[] args, int index) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException("Missing value for " + args[index - 1] + ".");
+    }
+    return args[index];
   }
 }
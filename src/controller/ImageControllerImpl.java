@@ -1,7 +1,9 @@
 package controller;
 
 import controller.commands.Blur;
+import controller.commands.BoxBlur;
 import controller.commands.ColorDither;
+import controller.commands.FlossDither;
 import controller.commands.Command;
 import controller.commands.GreyScale;
 import controller.commands.GreyscaleDither;
@@ -9,18 +11,27 @@ import controller.commands.Load;
 import controller.commands.Mosaic;
 import controller.commands.Pattern;
 import controller.commands.Pixelate;
+import controller.commands.PrintPattern;
+import controller.commands.Reset;
 import controller.commands.Save;
 import controller.commands.SaveText;
 import controller.commands.Sepia;
 import controller.commands.Sharpen;
+import controller.commands.Threads;
 import model.ImageProcessingModel;
+import model.channel.FlossMetric;
+import model.utils.BorderMode;
 
+import java.awt.Rectangle;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 /**
@@ -35,6 +46,8 @@ public class ImageControllerImpl implements ImageController {
   private Readable input;
   private Appendable output;
   protected Map<String, Function<String, Command>> listOfCommands;
+  private final List<Future<Void>> pendingSaves;
+  private Appendable commandOutput;
 
   /**
    * Default constructor for the {@link ImageControllerImpl}.
@@ -42,6 +55,7 @@ public class ImageControllerImpl implements ImageController {
   public ImageControllerImpl() {
     this.input = null;
     this.output = null;
+    this.pendingSaves = new ArrayList<>();
     initializeListOfCommands();
   }
 
@@ -58,21 +72,126 @@ public class ImageControllerImpl implements ImageController {
     initializeListOfCommands();
     this.input = input;
     this.output = output;
+    this.pendingSaves = new ArrayList<>();
   }
 
   private void initializeListOfCommands() {
     this.listOfCommands = new HashMap<>();
-    this.listOfCommands.put("load", Load::new);
+    this.listOfCommands.put("load", ImageControllerImpl::loadCommand);
     this.listOfCommands.put("save", Save::new);
-    this.listOfCommands.put("blur", in -> new Blur());
-    this.listOfCommands.put("sharpen", in -> new Sharpen());
+    this.listOfCommands.put("blur", ImageControllerImpl::blurCommand);
+    this.listOfCommands.put("boxblur", ImageControllerImpl::boxBlurCommand);
+    this.listOfCommands.put("sharpen",
+        in -> in.isEmpty() ? new Sharpen() : new Sharpen(BorderMode.fromName(in)));
     this.listOfCommands.put("greyscale", in -> new GreyScale());
     this.listOfCommands.put("sepia", in -> new Sepia());
     this.listOfCommands.put("colordither", in -> new ColorDither(Integer.parseInt(in)));
     this.listOfCommands.put("greyscaledither", in -> new GreyscaleDither(Integer.parseInt(in)));
     this.listOfCommands.put("pixelate", in -> new Pixelate(Integer.parseInt(in)));
     this.listOfCommands.put("mosaic", in -> new Mosaic(Integer.parseInt(in)));
-    this.listOfCommands.put("pattern", in -> new Pattern());
+    this.listOfCommands.put("flossdither", in -> new FlossDither());
+    this.listOfCommands.put("pattern",
+        in -> in.isEmpty() ? new Pattern()
+            : in.matches("-?\\d+") ? new Pattern(Integer.parseInt(in))
+            : new Pattern(FlossMetric.fromName(in)));
+    this.listOfCommands.put("threads", in -> new Threads(Integer.parseInt(in)));
+    this.listOfCommands.put("reset", in -> new Reset());
+    this.listOfCommands.put("printpattern", in -> new PrintPattern(this.commandOutput));
+  }
+
+  /**
+   * Helper method to create the blur command from the arguments of the command.
+   * The arguments can start with the radius of a gaussian blur filter, which can
+   * be followed by the way the pixels outside the image are treated, e.g. 5
+   * clamp. Without a radius they can contain the way the pixels outside the
+   * image are treated alone, e.g. clamp.
+   * 
+   * @param arguments which are the arguments of the blur command.
+   * @return the blur {@link Command}.
+   */
+  private static Command blurCommand(String arguments) {
+    String[] tokens = arguments.trim().split("\\s+");
+    if (tokens[0].isEmpty()) {
+      return new Blur();
+    }
+    if (tokens.length == 1 && !tokens[0].matches("[-+]?\\d+")) {
+      return new Blur(BorderMode.fromName(tokens[0]));
+    }
+    int radius = getRadius(tokens[0]);
+    BorderMode border = BorderMode.ZERO;
+    for (int i = 1; i < tokens.length; i++) {
+      border = BorderMode.fromName(tokens[i]);
+    }
+    return new Blur(radius, border);
+  }
+
+  /**
+   * Helper method to create the box blur command from the arguments of the
+   * command. The arguments start with the radius of the filter, which can be
+   * followed by the word gaussian to approximate a gaussian blur filter and the
+   * way the pixels outside the image are treated, e.g. 50 gaussian mirror.
+   * 
+   * @param arguments which are the arguments of the box blur command.
+   * @return the box blur {@link Command}.
+   */
+  private static Command boxBlurCommand(String arguments) {
+    String[] tokens = arguments.trim().split("\\s+");
+    int radius = getRadius(tokens[0]);
+    boolean gaussian = false;
+    BorderMode border = BorderMode.ZERO;
+    for (int i = 1; i < tokens.length; i++) {
+      if (tokens[i].equals("gaussian")) {
+        gaussian = true;
+      } else {
+        border = BorderMode.fromName(tokens[i]);
+      }
+    }
+    return new BoxBlur(radius, gaussian, border);
+  }
+
+  /**
+   * Helper method to read the radius of a blur filter from the arguments of a
+   * command.
+   * 
+   * @param token which is the argument containing the radius.
+   * @return the radius of the filter.
+   * @throws IllegalArgumentException if the argument is not a number.
+   */
+  private static int getRadius(String token) throws IllegalArgumentException {
+    try {
+      return Integer.parseInt(token);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+  }
+
+  /**
+   * Helper method to create the load command from the arguments of the command.
+   * The filename can be followed by a size such as 300x, x200 or 300x200 and a
+   * region of the image as x,y,width,height.
+   * 
+   * @param arguments which are the arguments of the load command.
+   * @return the load {@link Command}.
+   */
+  private static Command loadCommand(String arguments) {
+    String[] tokens = arguments.trim().split("\\s+");
+    int width = 0;
+    int height = 0;
+    Rectangle region = null;
+    for (int i = 1; i < tokens.length; i++) {
+      if (tokens[i].matches("\\d+x\\d*|x\\d+")) {
+        String[] size = tokens[i].split("x", -1);
+        width = size[0].isEmpty() ? 0 : Integer.parseInt(size[0]);
+        height = size[1].isEmpty() ? 0 : Integer.parseInt(size[1]);
+      } else if (tokens[i].matches("\\d+,\\d+,\\d+,\\d+")) {
+        String[] bounds = tokens[i].split(",");
+        region = new Rectangle(Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]),
+            Integer.parseInt(bounds[2]), Integer.parseInt(bounds[3]));
+      } else {
+        throw new IllegalArgumentException("Invalid load arguments.");
+      }
+    }
+    return new Load(tokens[0], width, height, region);
   }
 
   @Override
@@ -110,12 +229,26 @@ public class ImageControllerImpl implements ImageController {
     if (null == commands || null == model || null == output) {
       throw new IllegalArgumentException("Invalid inputs to execute commands.");
     }
+    this.commandOutput = output;
+    try {
+      executeCommands(commands, model, output);
+    } finally {
+      awaitSaves(output);
+    }
+  }
+
+  private void executeCommands(List<String> commands, ImageProcessingModel model,
+      Appendable output) throws IllegalArgumentException, NullPointerException, IOException {
     for (String commandString : commands) {
       String command = commandString.split(" ")[0];
       if (this.listOfCommands.containsKey(command)) {
         if (commandString.split(" ").length > 1) {
           if (command.equals("save")) {
             saveHelper(commandString, model, output);
+          } else if (command.equals("load") || command.equals("blur")
+              || command.equals("boxblur")) {
+            model = applyCommand(command, model,
+                commandString.substring(command.length() + 1), output);
           } else {
             model = applyCommand(command, model, commandString.split(" ")[1], output);
           }
@@ -133,7 +266,7 @@ public class ImageControllerImpl implements ImageController {
     if (null == commandString || null == model || null == output) {
       throw new IllegalArgumentException("Invalid inputs to execute save command.");
     }
-    if (commandString.split(" ")[1].split("\\.")[1].equals("txt")) {
+    if (commandString.split(" ")[1].endsWith(".txt")) {
       try {
         Command saveText = new SaveText(commandString.split(" ")[1]);
         saveText.execute(model);
@@ -143,13 +276,35 @@ public class ImageControllerImpl implements ImageController {
       }
     } else {
       try {
-        Command save = new Save(commandString.split(" ")[1]);
+        Save save = new Save(commandString.split(" ")[1]);
         save.execute(model);
-        output.append("Saving to file successful\n");
+        pendingSaves.add(save.getResult());
       } catch (IOException | NullPointerException e) {
+        pendingSaves.add(CompletableFuture.failedFuture(e));
+      }
+    }
+  }
+
+  /**
+   * Helper method which waits for the saves running in the background and
+   * reports the result of every save in the order they were requested.
+   * 
+   * @param output which represents the output to be given after execution.
+   * @throws IOException if the output cannot be written to.
+   */
+  private void awaitSaves(Appendable output) throws IOException {
+    for (Future<Void> save : pendingSaves) {
+      try {
+        save.get();
+        output.append("Saving to file successful\n");
+      } catch (ExecutionException e) {
+        output.append("Saving to file failed\n");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
         output.append("Saving to file failed\n");
       }
     }
+    pendingSaves.clear();
   }
 
   private ImageProcessingModel applyCommand(String command, ImageProcessingModel model,
@@ -1,6 +1,8 @@
 package controller;
 
 import model.ImageProcessingModel;
+import model.PatternResult;
+import model.channel.FlossMetric;
 import model.channel.ColorChannel;
 import view.ImageView;
 import view.ImageViewImpl;
@@ -22,7 +24,7 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
 
   private final ImageView view;
   private ImageProcessingModel model;
-  private String loadImageCommand;
+  private FlossMetric patternMetric;
 
   /**
    * Default constructor for {@link ImageControllerInteractive} class.
@@ -34,7 +36,7 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
     super();
     this.view = new ImageViewImpl();
     this.model = null;
-    this.loadImageCommand = "";
+    this.patternMetric = FlossMetric.REDMEAN;
   }
 
   @Override
@@ -51,7 +53,6 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
     if (null == filename || filename.isBlank()) {
       throw new IllegalArgumentException("Invalid filename.");
     }
-    this.loadImageCommand = "load " + filename;
     return processCommands("load " + filename);
   }
 
@@ -68,6 +69,14 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
     return processCommands("blur");
   }
 
+  @Override
+  public String boxBlurImage(String radius, boolean gaussian) throws IOException {
+    if (null == radius || radius.isBlank()) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    return processCommands("boxblur " + radius.trim() + (gaussian ? " gaussian" : ""));
+  }
+
   @Override
   public String sharpenImage() throws IOException {
     return processCommands("sharpen");
@@ -117,7 +126,27 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
 
   @Override
   public String patternImage() throws IOException {
-    return processCommands("pattern");
+    switch (patternMetric) {
+      case CIEDE2000:
+        return processCommands("pattern lab");
+      case CIE76:
+        return processCommands("pattern lab76");
+      default:
+        return processCommands("pattern");
+    }
+  }
+
+  @Override
+  public String patternImage(String numberOfColors) throws IOException {
+    if (null == numberOfColors || numberOfColors.isBlank()) {
+      throw new IllegalArgumentException("Invalid number of colors.");
+    }
+    return processCommands("pattern " + numberOfColors);
+  }
+
+  @Override
+  public String flossDitherImage() throws IOException {
+    return processCommands("flossdither");
   }
 
   @Override
@@ -133,6 +162,18 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
     return model.getAvailableFlossColors(FLOSS_FILE);
   }
 
+  @Override
+  public char[][] displayPatternSymbols() throws IOException {
+    PatternResult patternResult = model.getPattern(FLOSS_FILE);
+    char[][] symbols = new char[patternResult.getHeight()][patternResult.getWidth()];
+    for (int i = 0; i < symbols.length; i++) {
+      for (int j = 0; j < symbols[i].length; j++) {
+        symbols[i][j] = patternResult.getSymbol(i, j);
+      }
+    }
+    return symbols;
+  }
+
   @Override
   public BufferedImage displayImage() {
     return model.getBufferedImage();
@@ -159,9 +200,9 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
     if (null == currentColor || currentColor.isBlank() || null == newColor || newColor.isBlank()) {
       throw new IllegalArgumentException("Invalid colors.");
     }
-    int[] currentChannel = this.model.getAvailableFlossColors(FLOSS_FILE)
-        .get(currentColor.charAt(0));
-    int[] newChannel = this.model.getAvailableFlossColors(FLOSS_FILE).get(newColor.charAt(0));
+    Map<Character, int[]> flossColors = this.model.getAvailableFlossColors(FLOSS_FILE);
+    int[] currentChannel = flossColors.get(currentColor.charAt(0));
+    int[] newChannel = flossColors.get(newColor.charAt(0));
     this.model.swapColorInPattern(currentChannel, newChannel, FLOSS_FILE);
   }
 
@@ -189,7 +230,7 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
 
   @Override
   public String reloadOriginalImage() throws IOException {
-    return processCommands(loadImageCommand);
+    return processCommands("reset");
   }
 
   @Override
@@ -202,4 +243,17 @@ public class ImageControllerInteractive extends ImageControllerImpl implements I
     return output.toString();
   }
 
+  @Override
+  public String setParallelism(String numberOfThreads) throws IOException {
+    if (null == numberOfThreads || numberOfThreads.isBlank()) {
+      throw new IllegalArgumentException("Invalid number of threads.");
+    }
+    return processCommands("threads " + numberOfThreads);
+  }
+
+  @Override
+  public void setPatternMetric(String metric) {
+    this.patternMetric = FlossMetric.fromName(metric);
+  }
+
 }
@@ -52,6 +52,17 @@ public interface ImageFeatures {
    */
   public String blurImage() throws IOException;
 
+  /**
+   * Method used to apply box blur filter of the specified radius to the image.
+   * 
+   * @param radius   which represents the radius of the filter.
+   * @param gaussian which is true if an approximation of the gaussian blur
+   *                 filter of the radius is to be applied instead of a box.
+   * @return string containing the output information of the application.
+   * @throws IOException for invalid file.
+   */
+  public String boxBlurImage(String radius, boolean gaussian) throws IOException;
+
   /**
    * Method used to apply sharpen filter to the image.
    * 
@@ -128,6 +139,25 @@ public interface ImageFeatures {
    */
   public String patternImage() throws IOException;
 
+  /**
+   * Method used to dither the image into the dmc colors and generate its cross
+   * stitch pattern.
+   * 
+   * @return string containing the output information of the application.
+   * @throws IOException for invalid file.
+   */
+  public String flossDitherImage() throws IOException;
+
+  /**
+   * Method used to generate a cross stitch pattern which uses at most the given
+   * number of dmc colors.
+   * 
+   * @param numberOfColors which represents the maximum number of dmc colors.
+   * @return string containing the output information of the application.
+   * @throws IOException for invalid file.
+   */
+  public String patternImage(String numberOfColors) throws IOException;
+
   /**
    * Method used to generate a cross stitch pattern and save into a text file.
    * 
@@ -147,6 +177,15 @@ public interface ImageFeatures {
    */
   public Map<Character, int[]> displayImageFlossColors() throws IOException;
 
+  /**
+   * Method used to get the symbols of the cross stitch pattern of the image
+   * which contains the symbol of the floss color of every pixel.
+   * 
+   * @return a matrix containing the symbol of every pixel of the image.
+   * @throws IOException for invalid file.
+   */
+  public char[][] displayPatternSymbols() throws IOException;
+
   /**
    * Method used to get a {@link BufferedImage} for the given {@link Image}
    * instance.
@@ -176,7 +215,8 @@ public interface ImageFeatures {
   public BufferedImage displayOriginalImage() throws IOException;
 
   /**
-   * Method used to reload the image by executing the load command again.
+   * Method used to reload the original image which was loaded. The image is
+   * restored from memory without reading the file again.
    * 
    * @return string containing the output information of the application.
    * @throws IOException for invalid file.
@@ -231,4 +271,22 @@ public interface ImageFeatures {
    * @throws IOException for invalid file.
    */
   public String processBatchCommands(BufferedReader inputFile) throws IOException;
+
+  /**
+   * Method used to set the number of threads used to process the image.
+   * 
+   * @param numberOfThreads which represents the number of threads to be used.
+   * @return string containing the output information of the application.
+   * @throws IOException for invalid file.
+   */
+  public String setParallelism(String numberOfThreads) throws IOException;
+
+  /**
+   * Method used to set the color difference used to match the colors of the
+   * image to the dmc colors when a cross stitch pattern is generated.
+   * 
+   * @param metric which represents the color matching mode, an empty string for
+   *               the default mode, "lab" for CIEDE2000 or "lab76" for CIE76.
+   */
+  public void setPatternMetric(String metric);
 }
@@ -1,6 +1,7 @@
 package controller.commands;
 
 import model.ImageProcessingModel;
+import model.utils.BorderMode;
 
 /**
  * Implementation class of the {@link Command} class which is used for applying
@@ -11,13 +12,64 @@ import model.ImageProcessingModel;
  *
  */
 public class Blur implements Command {
+  private final int radius;
+  private final BorderMode border;
+
+  /**
+   * Default constructor for the {@link Blur} class which applies the default
+   * blur filter of the model.
+   */
+  public Blur() {
+    this.radius = 0;
+    this.border = null;
+  }
+
+  /**
+   * Constructor for the {@link Blur} class which takes the treatment of the
+   * pixels outside the image as input.
+   * 
+   * @param border which represents the way the pixels outside the image are
+   *               treated by the filter.
+   */
+  public Blur(BorderMode border) {
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    this.radius = 0;
+    this.border = border;
+  }
+
+  /**
+   * Constructor for the {@link Blur} class which applies a gaussian blur filter
+   * of the given radius instead of the default blur filter.
+   * 
+   * @param radius which represents the radius of the gaussian blur filter.
+   * @param border which represents the way the pixels outside the image are
+   *               treated by the filter.
+   */
+  public Blur(int radius, BorderMode border) {
+    if (radius <= 0) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    this.radius = radius;
+    this.border = border;
+  }
 
   @Override
   public ImageProcessingModel execute(ImageProcessingModel model) {
     if (null == model) {
       throw new IllegalArgumentException("Model not initialized.");
     }
-    model.blurImage();
+    if (null == border) {
+      model.blurImage();
+    } else if (radius == 0) {
+      model.blurImage(border);
+    } else {
+      model.blurImage(radius, border);
+    }
     return model;
   }
 }
@@ -0,0 +1,55 @@
+package controller.commands;
+
+import model.ImageProcessingModel;
+import model.utils.BorderMode;
+
+/**
+ * Implementation class of the {@link Command} class which is used for applying
+ * box blur filtering to an image. Represents the command which applies a box
+ * blur filter of a given radius, or an approximation of the gaussian blur
+ * filter made of box blur filters, on the image.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class BoxBlur implements Command {
+  private final int radius;
+  private final boolean gaussian;
+  private final BorderMode border;
+
+  /**
+   * Constructor for the {@link BoxBlur} class which takes the radius of the
+   * filter, whether the gaussian blur filter is approximated and the treatment
+   * of the pixels outside the image as input.
+   *
+   * @param radius   which represents the radius of the filter.
+   * @param gaussian which is true if an approximation of the gaussian blur
+   *                 filter of the radius is to be applied instead of a box.
+   * @param border   which represents the way the pixels outside the image are
+   *                 treated by the filter.
+   */
+  public BoxBlur(int radius, boolean gaussian, BorderMode border) {
+    if (radius <= 0) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    this.radius = radius;
+    this.gaussian = gaussian;
+    this.border = border;
+  }
+
+  @Override
+  public ImageProcessingModel execute(ImageProcessingModel model) {
+    if (null == model) {
+      throw new IllegalArgumentException("Model not initialized.");
+    }
+    if (gaussian) {
+      model.gaussianBoxBlurImage(radius, border);
+    } else {
+      model.boxBlurImage(radius, border);
+    }
+    return model;
+  }
+}
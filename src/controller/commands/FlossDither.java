@@ -0,0 +1,27 @@
+package controller.commands;
+
+import model.ImageProcessingModel;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Implementation class of the {@link Command} class which is used for applying
+ * floss dithering to an image. Represents the command which dithers the image
+ * into the available dmc floss colors and generates its cross stitch pattern.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class FlossDither implements Command {
+
+  @Override
+  public ImageProcessingModel execute(ImageProcessingModel model) throws IOException {
+    if (null == model) {
+      throw new IllegalArgumentException("Model not initialized.");
+    }
+    File file = new File("");
+    model.flossDitherImage(file.getAbsolutePath() + "\\dmc-floss.csv");
+    return model;
+  }
+}
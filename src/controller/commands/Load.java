@@ -2,6 +2,7 @@ package controller.commands;
 
 import model.ImageProcessingModel;
 
+import java.awt.Rectangle;
 import java.io.IOException;
 
 /**
@@ -14,6 +15,9 @@ import java.io.IOException;
  */
 public class Load implements Command {
   private final String filename;
+  private final int width;
+  private final int height;
+  private final Rectangle region;
 
   /**
    * Constructor for the {@link Load} class which takes input of the filename
@@ -26,6 +30,38 @@ public class Load implements Command {
       throw new IllegalArgumentException("Invalid filename.");
     }
     this.filename = filename;
+    this.width = 0;
+    this.height = 0;
+    this.region = null;
+  }
+
+  /**
+   * Constructor for the {@link Load} class which takes input of the filename
+   * where the image is to be loaded from and the size and region of the image
+   * to be loaded.
+   * 
+   * @param filename which represents the location of the file to be loaded.
+   * @param width    which represents the minimum width of the loaded image, or
+   *                 0 for no limit.
+   * @param height   which represents the minimum height of the loaded image,
+   *                 or 0 for no limit.
+   * @param region   which represents the region of the file to be loaded, or
+   *                 null for the whole image.
+   */
+  public Load(String filename, int width, int height, Rectangle region) {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Invalid filename.");
+    }
+    if (width < 0 || height < 0) {
+      throw new IllegalArgumentException("Invalid image size.");
+    }
+    if (null != region && region.isEmpty()) {
+      throw new IllegalArgumentException("Invalid image region.");
+    }
+    this.filename = filename;
+    this.width = width;
+    this.height = height;
+    this.region = region;
   }
 
   @Override
@@ -33,7 +69,11 @@ public class Load implements Command {
     if (null == model) {
       throw new IllegalArgumentException("Model not initialized.");
     }
-    model.loadImage(filename);
+    if (width == 0 && height == 0 && null == region) {
+      model.loadImage(filename);
+    } else {
+      model.loadImage(filename, width, height, region);
+    }
     return model;
   }
 }
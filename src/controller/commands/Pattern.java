@@ -1,6 +1,7 @@
 package controller.commands;
 
 import model.ImageProcessingModel;
+import model.channel.FlossMetric;
 
 import java.io.File;
 import java.io.IOException;
@@ -14,6 +15,46 @@ import java.io.IOException;
  *
  */
 public class Pattern implements Command {
+  private final FlossMetric metric;
+  private final int numberOfColors;
+
+  /**
+   * Default constructor for the {@link Pattern} class which matches colors by
+   * the default color difference of the model.
+   */
+  public Pattern() {
+    this.metric = null;
+    this.numberOfColors = 0;
+  }
+
+  /**
+   * Constructor for the {@link Pattern} class which takes the color difference
+   * used to match colors as input.
+   * 
+   * @param metric which represents the color difference used to match the
+   *               colors of the image to the floss colors.
+   */
+  public Pattern(FlossMetric metric) {
+    if (null == metric) {
+      throw new IllegalArgumentException("Invalid color matching mode.");
+    }
+    this.metric = metric;
+    this.numberOfColors = 0;
+  }
+
+  /**
+   * Constructor for the {@link Pattern} class which takes the maximum number of
+   * floss colors to be used in the pattern as input.
+   * 
+   * @param numberOfColors which represents the maximum number of floss colors.
+   */
+  public Pattern(int numberOfColors) {
+    if (numberOfColors <= 0) {
+      throw new IllegalArgumentException("Invalid number of colors.");
+    }
+    this.metric = FlossMetric.REDMEAN;
+    this.numberOfColors = numberOfColors;
+  }
 
   @Override
   public ImageProcessingModel execute(ImageProcessingModel model) throws IOException {
@@ -21,7 +62,13 @@ public class Pattern implements Command {
       throw new IllegalArgumentException("Model not initialized.");
     }
     File file = new File("");
-    model.patternImage(file.getAbsolutePath() + "\\dmc-floss.csv");
+    if (numberOfColors > 0) {
+      model.patternImage(file.getAbsolutePath() + "\\dmc-floss.csv", numberOfColors);
+    } else if (null == metric) {
+      model.patternImage(file.getAbsolutePath() + "\\dmc-floss.csv");
+    } else {
+      model.patternImage(file.getAbsolutePath() + "\\dmc-floss.csv", metric);
+    }
     return model;
   }
 }
@@ -0,0 +1,41 @@
+package controller.commands;
+
+import model.ImageProcessingModel;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Implementation class of the {@link Command} class which is used for printing
+ * the cross stitch pattern of an image. Represents the command which writes the
+ * pattern of the image to the output of the controller.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class PrintPattern implements Command {
+  private final Appendable output;
+
+  /**
+   * Constructor for the {@link PrintPattern} class which takes the output the
+   * pattern is written to as input.
+   * 
+   * @param output which represents the destination of the pattern.
+   */
+  public PrintPattern(Appendable output) {
+    if (null == output) {
+      throw new IllegalArgumentException("Invalid output.");
+    }
+    this.output = output;
+  }
+
+  @Override
+  public ImageProcessingModel execute(ImageProcessingModel model) throws IOException {
+    if (null == model) {
+      throw new IllegalArgumentException("Model not initialized.");
+    }
+    File file = new File("");
+    model.writePattern(output, file.getAbsolutePath() + "\\dmc-floss.csv");
+    return model;
+  }
+}
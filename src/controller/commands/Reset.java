@@ -0,0 +1,23 @@
+package controller.commands;
+
+import model.ImageProcessingModel;
+
+/**
+ * Implementation class of the {@link Command} class which is used for restoring
+ * the original image which was loaded. Represents the command which resets the
+ * image without reading the file again.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class Reset implements Command {
+
+  @Override
+  public ImageProcessingModel execute(ImageProcessingModel model) {
+    if (null == model) {
+      throw new IllegalArgumentException("Model not initialized.");
+    }
+    model.resetImage();
+    return model;
+  }
+}
@@ -3,16 +3,20 @@ package controller.commands;
 import model.ImageProcessingModel;
 
 import java.io.IOException;
+import java.util.concurrent.Future;
 
 /**
  * Implementation class of the {@link Command} class which is used for saving an
  * image. Represents the command which saves the image in the given location.
+ * The image is saved in the background, and the result of the save can be
+ * retrieved from the command once it has been executed.
  * 
  * @author Jaswin Gumpella
  *
  */
 public class Save implements Command {
   private final String filename;
+  private Future<Void> result;
 
   /**
    * Constructor for the {@link Save} class which takes input of the filename
@@ -25,6 +29,7 @@ public class Save implements Command {
       throw new IllegalArgumentException("Invalid filename.");
     }
     this.filename = filename;
+    this.result = null;
   }
 
   @Override
@@ -32,7 +37,17 @@ public class Save implements Command {
     if (null == model) {
       throw new IllegalArgumentException("Model not initialized.");
     }
-    model.saveImage(filename);
+    result = model.saveImageAsync(filename);
     return model;
   }
+
+  /**
+   * Method used to get the result of the save started by the command.
+   * 
+   * @return a {@link Future} which completes when the image has been saved, or
+   *         null if the command has not been executed.
+   */
+  public Future<Void> getResult() {
+    return result;
+  }
 }
@@ -1,6 +1,7 @@
 package controller.commands;
 
 import model.ImageProcessingModel;
+import model.utils.BorderMode;
 
 /**
  * Implementation class of the {@link Command} class which is used for applying
@@ -11,13 +12,40 @@ import model.ImageProcessingModel;
  *
  */
 public class Sharpen implements Command {
+  private final BorderMode border;
+
+  /**
+   * Default constructor for the {@link Sharpen} class which applies the default
+   * sharpen filter of the model.
+   */
+  public Sharpen() {
+    this.border = null;
+  }
+
+  /**
+   * Constructor for the {@link Sharpen} class which takes the treatment of the
+   * pixels outside the image as input.
+   * 
+   * @param border which represents the way the pixels outside the image are
+   *               treated by the filter.
+   */
+  public Sharpen(BorderMode border) {
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    this.border = border;
+  }
 
   @Override
   public ImageProcessingModel execute(ImageProcessingModel model) {
     if (null == model) {
       throw new IllegalArgumentException("Model not initialized.");
     }
-    model.sharpenImage();
+    if (null == border) {
+      model.sharpenImage();
+    } else {
+      model.sharpenImage(border);
+    }
     return model;
   }
 }
@@ -0,0 +1,38 @@
+package controller.commands;
+
+import model.ImageProcessingModel;
+
+/**
+ * Implementation class of the {@link Command} class which is used for setting
+ * the number of threads used to process an image. Represents the command which
+ * sets the degree of parallelism of the image operations.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class Threads implements Command {
+  private final int numberOfThreads;
+
+  /**
+   * Constructor for the {@link Threads} class which takes the number of threads
+   * as input.
+   * 
+   * @param numberOfThreads which represents the number of threads the image
+   *                        operations are to be run on.
+   */
+  public Threads(int numberOfThreads) {
+    if (numberOfThreads < 1) {
+      throw new IllegalArgumentException("Invalid number of threads.");
+    }
+    this.numberOfThreads = numberOfThreads;
+  }
+
+  @Override
+  public ImageProcessingModel execute(ImageProcessingModel model) throws IllegalArgumentException {
+    if (null == model) {
+      throw new IllegalArgumentException("Model not initialized.");
+    }
+    model.setParallelism(numberOfThreads);
+    return model;
+  }
+}
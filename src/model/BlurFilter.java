@@ -1,6 +1,8 @@
 package model;
 
 import model.image.Image;
+import model.utils.BorderMode;
+import model.utils.SeparableConvolution;
 
 /**
  * This class extends the {@link ImageFilters} class which extends the abstract
@@ -13,6 +15,13 @@ import model.image.Image;
  */
 public class BlurFilter extends ImageFilters {
 
+  /**
+   * The largest radius of the gaussian blur filter. Every pixel takes time and
+   * every band of rows takes memory in proportion to the radius, so larger
+   * blurs are left to the box blur approximation of the gaussian blur.
+   */
+  public static final int MAXIMUM_RADIUS = 1 << 7;
+
   /**
    * Constructor for the {@link BlurFilter} class which takes the {@link Image}
    * as argument to provide the model with the {@link Image} that has to be
@@ -26,9 +35,32 @@ public class BlurFilter extends ImageFilters {
 
   @Override
   public void blurImage() {
+    blurImage(BorderMode.ZERO);
+  }
+
+  @Override
+  public void blurImage(BorderMode border) {
     double[][] blurFilterMatrix = { { 0.0625, 0.125, 0.0625 }, { 0.125, 0.25, 0.125 },
         { 0.0625, 0.125, 0.0625 } };
-    this.filterImage(blurFilterMatrix);
+    this.filterImage(blurFilterMatrix, border);
+  }
+
+  @Override
+  public void blurImage(int radius, BorderMode border) {
+    if (radius <= 0 || radius > MAXIMUM_RADIUS) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    double deviation = radius / 2.0;
+    double[] weights = new double[2 * radius + 1];
+    double total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = Math.exp(-(i - radius) * (i - radius) / (2 * deviation * deviation));
+      total += weights[i];
+    }
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] /= total;
+    }
+    this.filterImage(new SeparableConvolution(weights, weights, border));
   }
 
 }
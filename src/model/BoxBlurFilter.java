@@ -0,0 +1,79 @@
+package model;
+
+import model.image.Image;
+import model.utils.BorderMode;
+import model.utils.BoxConvolution;
+
+/**
+ * This class extends the {@link BlurFilter} class which extends the
+ * {@link ImageFilters} class and implements the {@link ImageModel} interface.
+ * Contains the operations related to the box blur filtering of an image defined
+ * in the {@link ImageModel} interface. The time taken by these filters for
+ * every pixel does not depend on their radius, so they are suited to blurs of a
+ * large radius.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class BoxBlurFilter extends BlurFilter {
+
+  private static final int GAUSSIAN_PASSES = 3;
+
+  /**
+   * Constructor for the {@link BoxBlurFilter} class which takes the
+   * {@link Image} as argument to provide the model with the {@link Image} that
+   * has to be operated on.
+   *
+   * @param image which is the image on which the filter is to be applied.
+   */
+  public BoxBlurFilter(Image image) {
+    super(image);
+  }
+
+  @Override
+  public void boxBlurImage(int radius, BorderMode border) {
+    this.filterImage(new BoxConvolution(radius, border));
+  }
+
+  @Override
+  public void gaussianBoxBlurImage(int radius, BorderMode border) {
+    if (radius <= 0 || radius > BoxConvolution.MAXIMUM_RADIUS) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    int[] boxRadii = getBoxRadii(radius / 2.0);
+    if (boxRadii[0] == 0) {
+      this.blurImage(radius, border);
+      return;
+    }
+    for (int boxRadius : boxRadii) {
+      this.filterImage(new BoxConvolution(boxRadius, border));
+    }
+  }
+
+  /**
+   * Helper method to get the radii of the box filters which are applied one
+   * after the other to approximate a gaussian filter. The sizes of the boxes
+   * are consecutive odd numbers chosen so that the variance of the boxes adds
+   * up to the variance of the gaussian filter. Filters of a small radius need
+   * boxes of a single pixel, which do not blur the image, so the gaussian
+   * filter itself is applied instead.
+   *
+   * @param deviation which is the standard deviation of the gaussian filter.
+   * @return the radius of every box filter.
+   */
+  private static int[] getBoxRadii(double deviation) {
+    double variance = 12 * deviation * deviation;
+    int smaller = (int) Math.floor(Math.sqrt(variance / GAUSSIAN_PASSES + 1));
+    if (smaller % 2 == 0) {
+      smaller--;
+    }
+    long smallerPasses = Math.round((variance - GAUSSIAN_PASSES * (double) smaller * smaller
+        - 4.0 * GAUSSIAN_PASSES * smaller - 3 * GAUSSIAN_PASSES) / (-4.0 * smaller - 4));
+    int[] radii = new int[GAUSSIAN_PASSES];
+    for (int pass = 0; pass < GAUSSIAN_PASSES; pass++) {
+      radii[pass] = (pass < smallerPasses ? smaller : smaller + 2) / 2;
+    }
+    return radii;
+  }
+
+}
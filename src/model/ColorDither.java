@@ -1,8 +1,10 @@
 package model;
 
 import model.image.Image;
-import model.image.ImageImpl;
-import model.utils.ImageModelUtils;
+import model.image.RasterImage;
+import model.image.TiledImage;
+
+import java.util.Arrays;
 
 /**
  * This class extends the {@link ImageDensity} class and extends the abstract
@@ -31,18 +33,38 @@ public class ColorDither extends ImageDensity {
     if (numberOfColors <= 0) {
       throw new IllegalArgumentException("Number of colors to be reduced to has to be positive.");
     }
-    newImage = ImageModelUtils.deepClone(image.getImage());
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        newImage[i][j] = ditherHelper(i, j, numberOfColors);
-        for (int k = 0; k < newImage[i][j].length; k++) {
-          int error = oldColor.getColorChannel()[k] - newImage[i][j][k];
-          newImage = ditherUtils.calculateErrors(newImage, i, j, k, error);
+    TiledImage source = getTiledImage();
+    int width = source.getWidth();
+    int height = source.getHeight();
+    int bandRows = Math.min(height, source.getBandRows());
+    TiledImage dithered = source.create(width, height);
+    int[] band = new int[width * bandRows];
+    int[][] currentErrors = new int[3][width];
+    int[][] nextErrors = new int[3][width];
+    int[] newColor = new int[3];
+    for (int row = 0; row < height; row += bandRows) {
+      int rows = Math.min(bandRows, height - row);
+      source.readRows(row, rows, band);
+      for (int i = 0; i < rows; i++) {
+        int[][] swap = currentErrors;
+        currentErrors = nextErrors;
+        nextErrors = swap;
+        for (int k = 0; k < 3; k++) {
+          Arrays.fill(nextErrors[k], 0);
+        }
+        for (int j = 0; j < width; j++) {
+          int rgb = band[i * width + j];
+          for (int k = 0; k < 3; k++) {
+            int value = ((rgb >> (16 - 8 * k)) & 0xFF) + currentErrors[k][j];
+            newColor[k] = findClosestLevel(value, numberOfColors);
+            diffuseError(currentErrors[k], nextErrors[k], j, value - newColor[k]);
+          }
+          band[i * width + j] = RasterImage.pack(newColor[0], newColor[1], newColor[2]);
         }
       }
+      dithered.writeRows(row, rows, band);
     }
-    this.image = new ImageImpl(newImage);
-
+    this.image = dithered;
   }
 
 }
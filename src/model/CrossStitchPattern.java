@@ -1,15 +1,23 @@
 package model;
 
 import model.channel.ColorChannel;
-import model.channel.FlossColor;
-import model.channel.FlossColorImpl;
+import model.channel.ColorChannelImpl;
+import model.channel.FlossKdTree;
+import model.channel.FlossMatcher;
+import model.channel.FlossMetric;
+import model.channel.FlossPalette;
 import model.image.Image;
+import model.image.RasterImage;
+import model.image.TiledImage;
+import model.utils.ColorTable;
+import model.utils.ImageParallelism;
+import model.utils.MedianCut;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.function.Function;
 
 /**
  * Extension of the {@link ImageProcessingModelImpl} class to implement the
@@ -22,8 +30,7 @@ import java.util.TreeMap;
 public class CrossStitchPattern extends ImageProcessingModelImpl {
 
   protected String availablePaletteFileName;
-  private final StringBuilder pattern;
-  private final Map<Character, ColorChannel> flossColors;
+  protected PatternResult patternResult;
 
   /**
    * Constructor of the {@link CrossStitchPattern} which takes input of the image
@@ -40,8 +47,24 @@ public class CrossStitchPattern extends ImageProcessingModelImpl {
       throw new IllegalArgumentException("Invalid filename.");
     }
     this.availablePaletteFileName = filename;
-    this.pattern = new StringBuilder();
-    this.flossColors = new HashMap<>();
+    this.patternResult = null;
+  }
+
+  /**
+   * Constructor of the {@link CrossStitchPattern} which takes input of the image,
+   * the location of the available floss color palette and the pattern already
+   * generated for the image.
+   * 
+   * @param image         which represents the image on which the operations are
+   *                      to be performed.
+   * @param filename      which represents the location of the file containing
+   *                      the dmc floss colors details.
+   * @param patternResult which represents the pattern generated for the image or
+   *                      null if it is yet to be generated.
+   */
+  public CrossStitchPattern(Image image, String filename, PatternResult patternResult) {
+    this(image, filename);
+    this.patternResult = patternResult;
   }
 
   /**
@@ -51,42 +74,253 @@ public class CrossStitchPattern extends ImageProcessingModelImpl {
    * @throws IOException for invalid file.
    */
   public void patternImage() throws IOException {
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        FlossColor flossColor = new FlossColorImpl(image.getImage()[i][j],
-            this.availablePaletteFileName);
-        flossColor.modifyFlossColorChannel();
+    patternImage(FlossMetric.REDMEAN);
+  }
+
+  /**
+   * Method used to generate a cross stitch pattern and apply the available dmc
+   * colors to the image, finding the closest dmc color of every pixel by the
+   * given color difference.
+   * 
+   * @param metric which is the color difference used to match the colors.
+   * @throws IOException for invalid file.
+   */
+  public void patternImage(FlossMetric metric) throws IOException {
+    FlossPalette palette = FlossPalette.getPalette(this.availablePaletteFileName);
+    patternResult = new PatternResult(palette, matchFlossColors(palette.getMatcher(metric)));
+    applyFlossColors(palette, patternResult);
+  }
+
+  /**
+   * Method used to generate a cross stitch pattern which uses at most the given
+   * number of dmc colors and apply them to the image. The histogram of the
+   * image is reduced to the given number of colors by median cut, every
+   * reduced color is replaced by its closest dmc color which has not been
+   * chosen yet and the image is matched against the chosen dmc colors.
+   * 
+   * @param numberOfColors which is the maximum number of dmc colors to be used.
+   * @throws IOException for invalid file.
+   */
+  public void patternImage(int numberOfColors) throws IOException {
+    if (numberOfColors <= 0) {
+      throw new IllegalArgumentException("Invalid number of colors.");
+    }
+    FlossPalette palette = FlossPalette.getPalette(this.availablePaletteFileName);
+    patternResult = new PatternResult(palette, matchFlossColors(histogram -> {
+      int[] colors = MedianCut.reduce(histogram, Math.min(numberOfColors, palette.size()));
+      return new FlossKdTree(palette, selectFlossColors(palette, colors));
+    }));
+    applyFlossColors(palette, patternResult);
+  }
+
+  private int[] selectFlossColors(FlossPalette palette, int[] colors) {
+    boolean[] selected = new boolean[palette.size()];
+    int[] indices = new int[colors.length];
+    for (int i = 0; i < colors.length; i++) {
+      int red = colors[i] >> 16;
+      int green = (colors[i] >> 8) & 0xFF;
+      int blue = colors[i] & 0xFF;
+      int closest = -1;
+      double best = Double.MAX_VALUE;
+      for (int index = 0; index < palette.size(); index++) {
+        if (!selected[index]) {
+          double distance = palette.distance(index, red, green, blue);
+          if (distance < best) {
+            best = distance;
+            closest = index;
+          }
+        }
       }
+      selected[closest] = true;
+      indices[i] = closest;
+    }
+    Arrays.sort(indices);
+    return indices;
+  }
+
+  /**
+   * Method used to get the pattern of the image. The pattern is generated from
+   * the available floss colors if it has not been generated yet.
+   * 
+   * @return the {@link PatternResult} of the image.
+   * @throws IOException for invalid file.
+   */
+  public PatternResult getPatternResult() throws IOException {
+    if (null == patternResult) {
+      FlossPalette palette = FlossPalette.getPalette(this.availablePaletteFileName);
+      patternResult = new PatternResult(palette, matchFlossColors(palette.getLookupTable()));
     }
+    return patternResult;
   }
 
-  private void generatePattern() throws IOException {
-    Map<Integer, Character> dmcLegendMap = new TreeMap<>();
-    pattern.append(image.getWidth());
-    pattern.append("x");
-    pattern.append(image.getHeight());
-    pattern.append("\n");
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        FlossColor flossColor = new FlossColorImpl(image.getImage()[i][j],
-            this.availablePaletteFileName);
-        dmcLegendMap.put(flossColor.findClosestAvailableFloss(),
-            flossColor.getLegend(flossColor.findClosestAvailableFloss()));
-        flossColors.put(flossColor.getLegend(flossColor.findClosestAvailableFloss()),
-            flossColor.getFlossColorChannel(flossColor.findClosestAvailableFloss()));
-        pattern.append(flossColor.getLegend(flossColor.findClosestAvailableFloss()));
+  /**
+   * Method used to find the closest floss color of every pixel of the image.
+   * The distinct colors of every band of rows are collected in parallel and
+   * merged so that every distinct color is matched only once, and the image is
+   * then mapped to the matched floss colors band by band.
+   * 
+   * @param matcher which is used to find the closest floss color of a color.
+   * @return a {@link TiledImage} whose pixels are the palette indices of the
+   *         floss colors of the pixels.
+   */
+  protected TiledImage matchFlossColors(FlossMatcher matcher) {
+    if (null == matcher) {
+      throw new IllegalArgumentException("Invalid floss matcher.");
+    }
+    return matchFlossColors(histogram -> matcher);
+  }
+
+  /**
+   * Method used to find the closest floss color of every pixel of the image by
+   * a matcher which is created from the histogram of the distinct colors of the
+   * image. The palette indices are stored in an image created by the
+   * {@link TiledImage} of the model, so they take no more memory of the program
+   * than the image.
+   * 
+   * @param matcherFactory which creates the matcher from the histogram of the
+   *                       image.
+   * @return a {@link TiledImage} whose pixels are the palette indices of the
+   *         floss colors of the pixels.
+   */
+  protected TiledImage matchFlossColors(Function<ColorTable, FlossMatcher> matcherFactory) {
+    if (null == matcherFactory) {
+      throw new IllegalArgumentException("Invalid floss matcher.");
+    }
+    return matchTiledFlossColors(getTiledImage(), matcherFactory);
+  }
+
+  /**
+   * Helper method to find the closest floss color of every pixel of a
+   * {@link TiledImage}. The bands of rows are read in batches of one band for
+   * every thread, the distinct colors of the bands of a batch are collected in
+   * parallel and merged in the order of the bands, and the merged ids are
+   * written to the image of palette indices. Once every distinct color is known
+   * the ids are replaced by the matched floss colors band by band. Fewer
+   * threads are used when their bands would not fit in a quarter of the memory
+   * of the program.
+   * 
+   * @param source         which is the image whose colors are matched.
+   * @param matcherFactory which creates the matcher from the histogram of the
+   *                       image.
+   * @return a {@link TiledImage} whose pixels are the palette indices of the
+   *         floss colors of the pixels.
+   */
+  private static TiledImage matchTiledFlossColors(TiledImage source,
+      Function<ColorTable, FlossMatcher> matcherFactory) {
+    int width = source.getWidth();
+    int height = source.getHeight();
+    int bandRows = Math.min(height, source.getBandRows());
+    int bands = (height + bandRows - 1) / bandRows;
+    int workers = (int) Math.min(Math.min(bands, ImageParallelism.getParallelism()),
+        Math.max(1, Runtime.getRuntime().maxMemory() / 4 / (4L * width * bandRows)));
+    TiledImage flossIndices = source.create(width, height);
+    int[][] buffers = new int[workers][width * bandRows];
+    ColorTable colorTable = new ColorTable(4096);
+    for (int batch = 0; batch < bands; batch += workers) {
+      int firstBand = batch;
+      ColorTable[] bandTables = new ColorTable[Math.min(workers, bands - batch)];
+      ImageParallelism.forEach(bandTables.length, worker -> {
+        int row = (firstBand + worker) * bandRows;
+        int length = Math.min(bandRows, height - row) * width;
+        source.readRows(row, length / width, buffers[worker]);
+        ColorTable bandTable = new ColorTable(Math.min(length, 4096));
+        for (int p = 0; p < length; p++) {
+          buffers[worker][p] = bandTable.add(buffers[worker][p]);
+        }
+        bandTables[worker] = bandTable;
+      });
+      int[][] bandColors = mergeColorTables(colorTable, bandTables);
+      ImageParallelism.forEach(bandTables.length, worker -> {
+        int row = (firstBand + worker) * bandRows;
+        int rows = Math.min(bandRows, height - row);
+        for (int p = 0; p < rows * width; p++) {
+          buffers[worker][p] = bandColors[worker][buffers[worker][p]];
+        }
+        flossIndices.writeRows(row, rows, buffers[worker]);
+      });
+    }
+    int[] matches = matchColors(colorTable, matcherFactory);
+    ImageParallelism.forEach(workers, worker -> {
+      for (int row = worker * bandRows; row < height; row += workers * bandRows) {
+        int rows = Math.min(bandRows, height - row);
+        flossIndices.readRows(row, rows, buffers[worker]);
+        for (int p = 0; p < rows * width; p++) {
+          buffers[worker][p] = matches[buffers[worker][p]];
+        }
+        flossIndices.writeRows(row, rows, buffers[worker]);
+      }
+    });
+    return flossIndices;
+  }
+
+  /**
+   * Helper method to merge the distinct colors of the bands of an image into a
+   * single table in the order of the bands, so the ids of the merged colors do
+   * not depend on how the image is divided into bands.
+   * 
+   * @param colorTable which is the table the colors are merged into.
+   * @param bandTables which are the distinct colors of every band.
+   * @return the id in the merged table of every color of every band.
+   */
+  private static int[][] mergeColorTables(ColorTable colorTable, ColorTable[] bandTables) {
+    int[][] bandColors = new int[bandTables.length][];
+    for (int band = 0; band < bandTables.length; band++) {
+      bandColors[band] = new int[bandTables[band].size()];
+      for (int id = 0; id < bandColors[band].length; id++) {
+        bandColors[band][id] = colorTable.add(bandTables[band].getColor(id),
+            bandTables[band].getCount(id));
       }
-      pattern.append("\n");
     }
+    return bandColors;
+  }
 
-    pattern.append("\nLEGEND:\n");
-    dmcLegendMap.keySet().forEach(code -> {
-      pattern.append(dmcLegendMap.get(code));
-      pattern.append(" ");
-      pattern.append("DMC-");
-      pattern.append(code);
-      pattern.append("\n");
+  /**
+   * Helper method to find the closest floss color of every distinct color of an
+   * image in parallel.
+   * 
+   * @param colorTable     which contains the distinct colors of the image.
+   * @param matcherFactory which creates the matcher from the histogram of the
+   *                       image.
+   * @return the palette index of the floss color of every distinct color.
+   */
+  private static int[] matchColors(ColorTable colorTable,
+      Function<ColorTable, FlossMatcher> matcherFactory) {
+    FlossMatcher matcher = matcherFactory.apply(colorTable);
+    int[] matches = new int[colorTable.size()];
+    ImageParallelism.forEach(matches.length, id -> {
+      int rgb = colorTable.getColor(id);
+      matches[id] = matcher.findClosest(rgb >> 16, (rgb >> 8) & 0xFF, rgb & 0xFF);
     });
+    return matches;
+  }
+
+  /**
+   * Method used to replace the pixels of the image with the given floss colors.
+   * The palette indices of the pattern are read one band of rows at a time.
+   * 
+   * @param palette       which is the palette containing the floss colors.
+   * @param patternResult which contains the floss color of every pixel.
+   */
+  protected void applyFlossColors(FlossPalette palette, PatternResult patternResult) {
+    int[] flossColors = new int[palette.size()];
+    for (int index = 0; index < flossColors.length; index++) {
+      flossColors[index] = RasterImage.pack(palette.getRed(index), palette.getGreen(index),
+          palette.getBlue(index));
+    }
+    int width = patternResult.getWidth();
+    int height = patternResult.getHeight();
+    TiledImage tiledImage = getTiledImage().create(width, height);
+    int bandRows = Math.min(height, tiledImage.getBandRows());
+    int[] band = new int[width * bandRows];
+    for (int row = 0; row < height; row += bandRows) {
+      int rows = Math.min(bandRows, height - row);
+      patternResult.readFlossIndices(row, rows, band);
+      for (int p = 0; p < rows * width; p++) {
+        band[p] = flossColors[band[p]];
+      }
+      tiledImage.writeRows(row, rows, band);
+    }
+    image = tiledImage;
   }
 
   /**
@@ -99,12 +333,10 @@ public class CrossStitchPattern extends ImageProcessingModelImpl {
     if (null == filename || filename.isBlank()) {
       throw new IllegalArgumentException("Invalid filename.");
     }
-    generatePattern();
-    FileWriter fileWriter = new FileWriter(filename);
-    fileWriter.append(pattern);
-    fileWriter.close();
+    new PatternTextWriter(getPatternResult()).write(filename);
   }
 
+
   /**
    * Method used to get the available floss colors.
    * 
@@ -113,8 +345,13 @@ public class CrossStitchPattern extends ImageProcessingModelImpl {
    * @throws IOException for invalid file.
    */
   public Map<Character, ColorChannel> getFlossColors() throws IOException {
-    if (flossColors.isEmpty()) {
-      generatePattern();
+    PatternResult result = getPatternResult();
+    Map<Character, ColorChannel> flossColors = new HashMap<>();
+    for (int index = 0; index < result.getPalette().size(); index++) {
+      if (result.getCount(index) > 0) {
+        flossColors.put(result.getPalette().getSymbol(index),
+            new ColorChannelImpl(result.getPalette().getColor(index)));
+      }
     }
     return flossColors;
   }
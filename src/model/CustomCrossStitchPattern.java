@@ -1,10 +1,14 @@
 package model;
 
-import model.channel.FlossColor;
-import model.channel.FlossColorImpl;
+import model.channel.FlossKdTree;
+import model.channel.FlossMatcher;
+import model.channel.FlossPalette;
 import model.image.Image;
+import model.image.RasterImage;
+import model.image.TiledImage;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -37,14 +41,9 @@ public class CustomCrossStitchPattern extends CrossStitchPattern {
     if (null == oldColor || null == newColor) {
       throw new IllegalArgumentException();
     }
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        if (image.getImage()[i][j][0] == oldColor[0] && image.getImage()[i][j][1] == oldColor[1]
-            && image.getImage()[i][j][2] == oldColor[2]) {
-          image.getImage()[i][j] = newColor;
-        }
-      }
-    }
+    patternResult = null;
+    replaceColor(RasterImage.pack(oldColor[0], oldColor[1], oldColor[2]),
+        RasterImage.pack(newColor[0], newColor[1], newColor[2]));
   }
 
   /**
@@ -59,15 +58,25 @@ public class CustomCrossStitchPattern extends CrossStitchPattern {
     if (null == colorPalette) {
       throw new IllegalArgumentException();
     }
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        FlossColor flossColor = new FlossColorImpl(image.getImage()[i][j],
-            availablePaletteFileName);
-        image.getImage()[i][j] = flossColor
-            .getFlossColorChannel(flossColor.findClosestAvailableFloss(colorPalette))
-            .getColorChannel();
+    FlossPalette palette = FlossPalette.getPalette(availablePaletteFileName);
+    int[] indices = getPaletteIndices(palette, colorPalette);
+    FlossMatcher matcher = new FlossKdTree(palette, indices);
+    patternResult = new PatternResult(palette, matchFlossColors(matcher));
+    applyFlossColors(palette, patternResult);
+  }
+
+  private int[] getPaletteIndices(FlossPalette palette, Map<Character, int[]> colorPalette) {
+    int[] indices = new int[palette.size()];
+    int count = 0;
+    for (int i = 0; i < palette.size(); i++) {
+      if (colorPalette.containsKey(palette.getSymbol(i))) {
+        indices[count++] = i;
       }
     }
+    if (count == 0) {
+      throw new IllegalArgumentException("Color palette is invalid.");
+    }
+    return Arrays.copyOf(indices, count);
   }
 
   /**
@@ -79,13 +88,42 @@ public class CustomCrossStitchPattern extends CrossStitchPattern {
     if (null == color) {
       throw new IllegalArgumentException();
     }
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        if (image.getImage()[i][j][0] == color[0] && image.getImage()[i][j][1] == color[1]
-            && image.getImage()[i][j][2] == color[2]) {
-          image.getImage()[i][j] = new int[] { 255, 255, 255 };
+    patternResult = null;
+    replaceColor(RasterImage.pack(color[0], color[1], color[2]), 0xFFFFFF);
+  }
+
+  /**
+   * Helper method to replace every pixel of the old color with the new color.
+   * The tiles which do not contain the old color are not written, so they stay
+   * shared with the image before the change.
+   * 
+   * @param oldColor which is the packed color to be replaced.
+   * @param newColor which is the packed color to replace it with.
+   */
+  private void replaceColor(int oldColor, int newColor) {
+    TiledImage source = getTiledImage();
+    TiledImage replaced = source.copy();
+    int tileSize = source.getTileSize();
+    int[] tile = new int[tileSize * tileSize];
+    for (int tileRow = 0; tileRow < source.getTileRows(); tileRow++) {
+      int rows = Math.min(tileSize, source.getHeight() - tileRow * tileSize);
+      for (int tileColumn = 0; tileColumn < source.getTileColumns(); tileColumn++) {
+        int columns = Math.min(tileSize, source.getWidth() - tileColumn * tileSize);
+        source.readTile(tileRow, tileColumn, tile);
+        boolean changed = false;
+        for (int i = 0; i < rows; i++) {
+          for (int j = i * tileSize; j < i * tileSize + columns; j++) {
+            if (tile[j] == oldColor) {
+              tile[j] = newColor;
+              changed = true;
+            }
+          }
+        }
+        if (changed) {
+          replaced.writeTile(tileRow, tileColumn, tile);
         }
       }
     }
+    image = replaced;
   }
 }
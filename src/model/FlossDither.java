@@ -0,0 +1,92 @@
+package model;
+
+import model.channel.FlossMatcher;
+import model.channel.FlossPalette;
+import model.image.Image;
+import model.image.RasterImage;
+import model.image.TiledImage;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * {@link FlossDither} is an extension of {@link CrossStitchPattern} which
+ * applies Floyd-Steinberg error diffusion dithering using the available dmc
+ * floss colors as the palette. Every pixel is quantized to its closest floss
+ * color and the error is diffused to the neighbouring pixels, producing the
+ * cross stitch pattern of the image in a single pass.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class FlossDither extends CrossStitchPattern {
+
+  private static final int CHANNELS = 3;
+
+  /**
+   * Constructor of the {@link FlossDither} which takes input of the image to be
+   * modified and the location of the available floss color palette.
+   * 
+   * @param image    which represents the image on which the operations are to
+   *                 be performed.
+   * @param filename which represents the location of the file containing the
+   *                 dmc floss colors details.
+   */
+  public FlossDither(Image image, String filename) {
+    super(image, filename);
+  }
+
+  /**
+   * Method used to dither the image into the available dmc colors and generate
+   * the cross stitch pattern of the dithered image. The {@link TiledImage} of
+   * the model is dithered one band of rows at a time and the palette indices
+   * are stored in an image created by it, so only the errors of two rows are
+   * kept besides the band.
+   * 
+   * @throws IOException for invalid file.
+   */
+  public void flossDitherImage() throws IOException {
+    FlossPalette palette = FlossPalette.getPalette(this.availablePaletteFileName);
+    FlossMatcher matcher = palette.getLookupTable();
+    TiledImage tiledImage = getTiledImage();
+    int height = tiledImage.getHeight();
+    int width = tiledImage.getWidth();
+    int bandRows = Math.min(height, tiledImage.getBandRows());
+    int[] pixels = new int[width * bandRows];
+    TiledImage flossIndices = tiledImage.create(width, height);
+    int[] indices = new int[width * bandRows];
+    int[][] currentErrors = new int[CHANNELS][width];
+    int[][] nextErrors = new int[CHANNELS][width];
+    int[] color = new int[CHANNELS];
+    for (int row = 0; row < height; row += bandRows) {
+      int rows = Math.min(bandRows, height - row);
+      tiledImage.readRows(row, rows, pixels);
+      for (int i = 0; i < rows; i++) {
+        int[][] swap = currentErrors;
+        currentErrors = nextErrors;
+        nextErrors = swap;
+        for (int k = 0; k < CHANNELS; k++) {
+          Arrays.fill(nextErrors[k], 0);
+        }
+        for (int j = 0; j < width; j++) {
+          int rgb = pixels[i * width + j];
+          color[0] = RasterImage.red(rgb) + currentErrors[0][j];
+          color[1] = RasterImage.green(rgb) + currentErrors[1][j];
+          color[2] = RasterImage.blue(rgb) + currentErrors[2][j];
+          int index = matcher.findClosest(RasterImage.clamp(color[0]),
+              RasterImage.clamp(color[1]), RasterImage.clamp(color[2]));
+          indices[i * width + j] = index;
+          ImageDensity.diffuseError(currentErrors[0], nextErrors[0], j,
+              color[0] - palette.getRed(index));
+          ImageDensity.diffuseError(currentErrors[1], nextErrors[1], j,
+              color[1] - palette.getGreen(index));
+          ImageDensity.diffuseError(currentErrors[2], nextErrors[2], j,
+              color[2] - palette.getBlue(index));
+        }
+      }
+      flossIndices.writeRows(row, rows, indices);
+    }
+    patternResult = new PatternResult(palette, flossIndices);
+    applyFlossColors(palette, patternResult);
+  }
+}
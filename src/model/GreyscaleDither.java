@@ -1,8 +1,10 @@
 package model;
 
 import model.image.Image;
-import model.image.ImageImpl;
-import model.utils.ImageModelUtils;
+import model.image.RasterImage;
+import model.image.TiledImage;
+
+import java.util.Arrays;
 
 /**
  * This class extends the {@link ImageDensity} class and extends the abstract
@@ -31,19 +33,32 @@ public class GreyscaleDither extends ImageDensity {
     if (numberOfColors <= 0) {
       throw new IllegalArgumentException("Number of colors to be reduced to has to be positive.");
     }
-    newImage = ImageModelUtils.deepClone(image.getImage());
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        int[] newColor = ditherHelper(i, j, numberOfColors);
-        newImage[i][j] = new int[] { newColor[0], newColor[0], newColor[0] };
-        int error = oldColor.getColorChannel()[0] - newColor[0];
-        for (int k = 0; k < newColor.length; k++) {
-          newImage = ditherUtils.calculateErrors(newImage, i, j, k, error);
+    TiledImage source = getTiledImage();
+    int width = source.getWidth();
+    int height = source.getHeight();
+    int bandRows = Math.min(height, source.getBandRows());
+    TiledImage dithered = source.create(width, height);
+    int[] band = new int[width * bandRows];
+    int[] currentErrors = new int[width];
+    int[] nextErrors = new int[width];
+    for (int row = 0; row < height; row += bandRows) {
+      int rows = Math.min(bandRows, height - row);
+      source.readRows(row, rows, band);
+      for (int i = 0; i < rows; i++) {
+        int[] swap = currentErrors;
+        currentErrors = nextErrors;
+        nextErrors = swap;
+        Arrays.fill(nextErrors, 0);
+        for (int j = 0; j < width; j++) {
+          int value = RasterImage.red(band[i * width + j]) + currentErrors[j];
+          int newColor = findClosestLevel(value, numberOfColors);
+          diffuseError(currentErrors, nextErrors, j, value - newColor);
+          band[i * width + j] = (newColor << 16) | (newColor << 8) | newColor;
         }
       }
+      dithered.writeRows(row, rows, band);
     }
-    this.image = new ImageImpl(newImage);
-
+    this.image = dithered;
   }
 
 }
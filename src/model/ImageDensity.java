@@ -1,10 +1,7 @@
 package model;
 
-import model.channel.ColorChannel;
-import model.channel.ColorChannelImpl;
 import model.image.Image;
-import model.utils.ImageDensityUtils;
-import model.utils.ImageModelUtils;
+import model.image.RasterImage;
 
 /**
  * This class extends the abstract {@link ImageModelImpl} class and implements
@@ -16,10 +13,6 @@ import model.utils.ImageModelUtils;
  */
 public abstract class ImageDensity extends ImageModelImpl {
 
-  protected int[][][] newImage;
-  protected ColorChannel oldColor;
-  protected final ImageModelUtils ditherUtils;
-
   /**
    * Constructor for the {@link ImageDensity} class which takes the {@link Image}
    * as argument to provide the model with the {@link Image} that has to be
@@ -29,26 +22,49 @@ public abstract class ImageDensity extends ImageModelImpl {
    */
   protected ImageDensity(Image image) {
     super(image);
-    newImage = ImageModelUtils.deepClone(image.getImage());
-    oldColor = new ColorChannelImpl(new int[3]);
-    ditherUtils = new ImageDensityUtils();
   }
 
   /**
-   * Helper method to apply the dither to an {@link Image}.
+   * Helper method to find the closest color level of a channel when the channel
+   * is reduced to the given number of colors.
    * 
-   * @param i              which is the height index of the {@link Image}.
-   * @param j              which is the width index of the {@link Image}.
+   * @param value          which is the value of the channel including the
+   *                       errors diffused to it.
    * @param numberOfColors which is the number of colors the dithering has to be
    *                       applied to the {@link Image}.
-   * @return an array containing the color channels.
+   * @return the clamped value of the closest color level.
    */
-  protected int[] ditherHelper(int i, int j, int numberOfColors) {
-    if (i < 0 || j < 0 || numberOfColors <= 0) {
+  protected static int findClosestLevel(int value, int numberOfColors) {
+    if (numberOfColors <= 0) {
       throw new IllegalArgumentException("Invalid dithering arguments.");
     }
-    oldColor = new ColorChannelImpl(newImage[i][j]);
-    return ditherUtils.applyColorDitherToImage(oldColor, numberOfColors);
+    return RasterImage.clamp((int) Math.round(numberOfColors * value / 255.0)
+        * (255 / numberOfColors));
+  }
+
+  /**
+   * Helper method to diffuse the error of a channel of a pixel to the
+   * neighbouring pixels by the Floyd-Steinberg weights. The errors of the
+   * current and the next row of the {@link Image} are kept in separate arrays.
+   * 
+   * @param currentErrors which contains the errors diffused to the current row.
+   * @param nextErrors    which contains the errors diffused to the next row.
+   * @param column        which is the column of the pixel.
+   * @param error         which is the difference between the old and the new
+   *                      value of the channel.
+   */
+  protected static void diffuseError(int[] currentErrors, int[] nextErrors, int column,
+      int error) {
+    if (column + 1 < currentErrors.length) {
+      currentErrors[column + 1] += (int) Math.round((7 / 16.0) * error);
+    }
+    if (column - 1 >= 0) {
+      nextErrors[column - 1] += (int) Math.round((3 / 16.0) * error);
+    }
+    nextErrors[column] += (int) Math.round((5 / 16.0) * error);
+    if (column + 1 < nextErrors.length) {
+      nextErrors[column + 1] += (int) Math.round((1 / 16.0) * error);
+    }
   }
 
 }
@@ -1,12 +1,11 @@
 package model;
 
-import model.channel.ColorChannelImpl;
 import model.image.Image;
-import model.image.ImageImpl;
-import model.pixel.Pixel;
-import model.pixel.PixelImpl;
-import model.utils.ImageFiltersUtils;
-import model.utils.ImageModelUtils;
+import model.image.TiledImage;
+import model.utils.BorderMode;
+import model.utils.Convolution;
+import model.utils.DirectConvolution;
+import model.utils.ImageParallelism;
 
 /**
  * This class extends the abstract {@link ImageModelImpl} class and implements
@@ -31,26 +30,88 @@ public class ImageFilters extends ImageModelImpl {
   }
   
   /**
-   * Helper method for the filtering operation on the {@link Image}.
+   * Helper method for the filtering operation on the {@link Image}. The pixels
+   * outside the {@link Image} are treated as black and the channels are clamped
+   * after the filter has been applied.
    * 
    * @param filter which is the filter matrix to be applied to the {@link Image}.
    */
   protected void filterImage(double[][] filter) {
+    filterImage(filter, BorderMode.ZERO);
+  }
+
+  /**
+   * Helper method for the filtering operation on the {@link Image} with the
+   * given treatment of the pixels outside the {@link Image}. The channels are
+   * clamped after the filter has been applied.
+   * 
+   * @param filter which is the filter matrix to be applied to the {@link Image}.
+   * @param border which is the way the pixels outside the {@link Image} are
+   *               treated.
+   */
+  protected void filterImage(double[][] filter, BorderMode border) {
     if (null == filter) {
       throw new IllegalArgumentException("Invalid filter matrix.");
     }
     if (filter.length % 2 == 0 || filter.length != filter[0].length) {
       throw new IllegalArgumentException("Invalid filter matrix.");
     }
-    int[][][] newImage = new int[image.getHeight()][image.getWidth()][3];
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        Pixel curPixel = new PixelImpl(i, j, new ColorChannelImpl(image.getImage()[i][j]));
-        ImageModelUtils filterUtils = new ImageFiltersUtils();
-        newImage[i][j] = filterUtils.applyFilterToImage(image, filter, curPixel);
-      }
+    filterImage(new DirectConvolution(filter, border));
+  }
+
+  /**
+   * Helper method for the filtering operation on the {@link Image} with the
+   * given {@link Convolution}. The rows of the {@link Image} are divided into
+   * bands which are filtered in parallel. Every band reads the rows around it
+   * which are needed by the filter from the source image, so the result is the
+   * same as when the image is filtered by a single thread.
+   * 
+   * @param convolution which applies the filter to the {@link Image}.
+   */
+  protected void filterImage(Convolution convolution) {
+    if (null == convolution) {
+      throw new IllegalArgumentException("Invalid filter matrix.");
     }
-    this.image = new ImageImpl(newImage);
+    filterTiledImage(getTiledImage(), convolution);
+  }
+
+  /**
+   * Helper method for the filtering operation on a {@link TiledImage}. The
+   * image is filtered one band of rows at a time, and every band is read with
+   * the rows around it which are needed by the filter. Filters with a large
+   * radius are applied to bands of several times as many rows as the radius,
+   * so that the rows read around the bands add little work. The bands are divided
+   * between the threads, and every thread reuses its buffers for the bands it
+   * filters. Fewer threads are used when the buffers of every thread would not
+   * fit in a quarter of the memory of the program.
+   * 
+   * @param source      which is the image to be filtered.
+   * @param convolution which applies the filter to the image.
+   */
+  private void filterTiledImage(TiledImage source, Convolution convolution) {
+    int width = source.getWidth();
+    int height = source.getHeight();
+    int radius = convolution.getRadius();
+    int bandRows = (int) Math.min(height, (long) source.getBandRows()
+        * (1 + 4L * radius / source.getBandRows()));
+    int bands = (height + bandRows - 1) / bandRows;
+    TiledImage filtered = source.create(width, height);
+    long bufferBytes = 4L * width * (Math.min(height, bandRows + 2 * radius)
+        + Math.min(height, bandRows));
+    int workers = (int) Math.min(Math.min(bands, ImageParallelism.getParallelism()),
+        Math.max(1, Runtime.getRuntime().maxMemory() / 4 / bufferBytes));
+    ImageParallelism.forEach(workers, worker -> {
+      int[] band = new int[width * Math.min(height, bandRows + 2 * radius)];
+      int[] filteredBand = new int[width * Math.min(height, bandRows)];
+      for (int row = worker * bandRows; row < height; row += workers * bandRows) {
+        int rows = Math.min(bandRows, height - row);
+        int sourceRow = Math.max(0, row - radius);
+        source.readRows(sourceRow, Math.min(height, row + rows + radius) - sourceRow, band);
+        convolution.filterRows(band, sourceRow, filteredBand, row, rows, width, height);
+        filtered.writeRows(row, rows, filteredBand);
+      }
+    });
+    this.image = filtered;
   }
 
 }
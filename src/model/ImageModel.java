@@ -1,6 +1,7 @@
 package model;
 
 import model.image.Image;
+import model.utils.BorderMode;
 
 import java.io.IOException;
 
@@ -18,11 +19,66 @@ public interface ImageModel {
    */
   public void blurImage();
 
+  /**
+   * Method to apply a blur filter to an {@link Image} with the given treatment
+   * of the pixels outside the {@link Image}.
+   * 
+   * @param border which is the way the pixels outside the {@link Image} are
+   *               treated by the filter.
+   */
+  public void blurImage(BorderMode border);
+
+  /**
+   * Method to apply a gaussian blur filter of the given radius to an
+   * {@link Image}. The standard deviation of the filter is half of the radius.
+   * 
+   * @param radius which is the number of pixels on each side of a pixel which
+   *               are blurred with it, at most
+   *               {@link BlurFilter#MAXIMUM_RADIUS}.
+   * @param border which is the way the pixels outside the {@link Image} are
+   *               treated by the filter.
+   */
+  public void blurImage(int radius, BorderMode border);
+
+  /**
+   * Method to apply a box blur filter of the given radius to an {@link Image},
+   * which replaces every pixel with the average of the square of pixels around
+   * it. The time taken for every pixel does not depend on the radius.
+   * 
+   * @param radius which is the number of pixels on each side of a pixel which
+   *               are averaged with it.
+   * @param border which is the way the pixels outside the {@link Image} are
+   *               treated by the filter.
+   */
+  public void boxBlurImage(int radius, BorderMode border);
+
+  /**
+   * Method to apply an approximation of the gaussian blur filter of the given
+   * radius to an {@link Image}, made of three box blur filters applied one
+   * after the other. The time taken for every pixel does not depend on the
+   * radius.
+   * 
+   * @param radius which is the radius of the gaussian blur filter, whose
+   *               standard deviation is half of the radius.
+   * @param border which is the way the pixels outside the {@link Image} are
+   *               treated by the filters.
+   */
+  public void gaussianBoxBlurImage(int radius, BorderMode border);
+
   /**
    * Method to apply a sharp filter to an {@link Image}.
    */
   public void sharpenImage();
 
+  /**
+   * Method to apply a sharp filter to an {@link Image} with the given treatment
+   * of the pixels outside the {@link Image}.
+   * 
+   * @param border which is the way the pixels outside the {@link Image} are
+   *               treated by the filter.
+   */
+  public void sharpenImage(BorderMode border);
+
   /**
    * Method to apply a greyscale transformation to an {@link Image}.
    */
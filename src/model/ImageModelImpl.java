@@ -1,7 +1,13 @@
 package model;
 
 import model.image.Image;
+import model.image.MappedImage;
+import model.image.RasterImage;
+import model.image.SharedTiledImage;
+import model.image.TiledImage;
+import model.utils.BorderMode;
 import model.utils.ImageUtilities;
+import model.utils.NetpbmCodec;
 
 import java.io.IOException;
 
@@ -17,6 +23,7 @@ public class ImageModelImpl implements ImageModel {
 
   protected Image image;
   protected Image originalImage;
+  protected long imageVersion;
 
   /**
    * Default constructor for the abstract implementation class of
@@ -34,8 +41,44 @@ public class ImageModelImpl implements ImageModel {
     if (null == image) {
       throw new IllegalArgumentException("Image is invalid.");
     }
-    this.image = image;
-    this.originalImage = image;
+    this.image = toStoredImage(image);
+    this.originalImage = this.image;
+  }
+
+  /**
+   * Helper method to replace the {@link Image} of the model after an operation
+   * has modified it. Every call updates the version of the {@link Image} so that
+   * the results computed for the previous version are no longer used.
+   * 
+   * @param image which is the modified {@link Image}.
+   */
+  protected void updateImage(Image image) {
+    this.image = toStoredImage(image);
+    this.imageVersion++;
+  }
+
+  /**
+   * Helper method to convert an {@link Image} to the way it is stored by the
+   * model. Every {@link Image} is stored in tiles, so that copies of it share
+   * the tiles which are not changed. A {@link TiledImage} is kept as it is, and
+   * any other {@link Image} is stored as a {@link SharedTiledImage}.
+   * 
+   * @param image which is the {@link Image} to be stored.
+   * @return the {@link Image} to be stored.
+   */
+  protected static TiledImage toStoredImage(Image image) {
+    return image instanceof TiledImage ? (TiledImage) image : SharedTiledImage.of(image);
+  }
+
+  /**
+   * Helper method to get the {@link Image} of the model in the way it is
+   * stored, so that an operation can read and write it one band of rows at a
+   * time.
+   * 
+   * @return the {@link TiledImage} of the model.
+   */
+  protected TiledImage getTiledImage() {
+    return toStoredImage(image);
   }
 
   @Override
@@ -44,9 +87,26 @@ public class ImageModelImpl implements ImageModel {
     if (null == filename || filename.isBlank()) {
       throw new IllegalArgumentException("Filename cannot be empty.");
     }
+    writeImage(this.image, filename);
+  }
+
+  /**
+   * Helper method to write an {@link Image} to a file in the format given by
+   * the extension of the filename.
+   * 
+   * @param image    which is the {@link Image} to be written.
+   * @param filename which represents the location of the file to be saved.
+   * @throws IOException for invalid filename input.
+   */
+  protected static void writeImage(Image image, String filename) throws IOException {
     try {
-      ImageUtilities.writeImage(this.image.getImage(), this.image.getWidth(),
-          this.image.getHeight(), filename);
+      if (NetpbmCodec.isNetpbm(filename)) {
+        NetpbmCodec.write(image, filename);
+      } else if (image instanceof MappedImage) {
+        ImageUtilities.writeImage(((MappedImage) image).toRenderedImage(), filename);
+      } else {
+        ImageUtilities.writeImage(RasterImage.of(image).toBufferedImage(), filename);
+      }
     } catch (IOException e) {
       throw new IOException("Unable to write image.");
     }
@@ -54,18 +114,76 @@ public class ImageModelImpl implements ImageModel {
 
   @Override
   public void blurImage() {
+    blurImage(BorderMode.ZERO);
+  }
+
+  @Override
+  public void blurImage(BorderMode border) {
     checkImage();
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
     ImageFilters imageFilters = new BlurFilter(image);
-    imageFilters.blurImage();
-    this.image = imageFilters.image;
+    imageFilters.blurImage(border);
+    updateImage(imageFilters.image);
+  }
+
+  @Override
+  public void blurImage(int radius, BorderMode border) {
+    checkImage();
+    if (radius <= 0 || radius > BlurFilter.MAXIMUM_RADIUS) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    ImageFilters imageFilters = new BlurFilter(image);
+    imageFilters.blurImage(radius, border);
+    updateImage(imageFilters.image);
+  }
+
+  @Override
+  public void boxBlurImage(int radius, BorderMode border) {
+    checkImage();
+    if (radius <= 0) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    ImageFilters imageFilters = new BoxBlurFilter(image);
+    imageFilters.boxBlurImage(radius, border);
+    updateImage(imageFilters.image);
+  }
+
+  @Override
+  public void gaussianBoxBlurImage(int radius, BorderMode border) {
+    checkImage();
+    if (radius <= 0) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    ImageFilters imageFilters = new BoxBlurFilter(image);
+    imageFilters.gaussianBoxBlurImage(radius, border);
+    updateImage(imageFilters.image);
   }
 
   @Override
   public void sharpenImage() {
+    sharpenImage(BorderMode.ZERO);
+  }
+
+  @Override
+  public void sharpenImage(BorderMode border) {
     checkImage();
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
     ImageFilters imageFilters = new SharpenFilter(image);
-    imageFilters.sharpenImage();
-    this.image = imageFilters.image;
+    imageFilters.sharpenImage(border);
+    updateImage(imageFilters.image);
   }
 
   @Override
@@ -73,7 +191,7 @@ public class ImageModelImpl implements ImageModel {
     checkImage();
     ImageTransformations imageTransformations = new GreyscaleTransformation(image);
     imageTransformations.greyscaleImage();
-    this.image = imageTransformations.image;
+    updateImage(imageTransformations.image);
   }
 
   @Override
@@ -81,7 +199,7 @@ public class ImageModelImpl implements ImageModel {
     checkImage();
     ImageTransformations imageTransformations = new SepiatoneTransformation(image);
     imageTransformations.sepiatoneImage();
-    this.image = imageTransformations.image;
+    updateImage(imageTransformations.image);
   }
 
   @Override
@@ -89,7 +207,7 @@ public class ImageModelImpl implements ImageModel {
     checkImage();
     ImageDensity imageDensity = new ColorDither(image);
     imageDensity.colorDitherImage(numberOfColors);
-    this.image = imageDensity.image;
+    updateImage(imageDensity.image);
   }
 
   @Override
@@ -97,7 +215,7 @@ public class ImageModelImpl implements ImageModel {
     checkImage();
     ImageDensity imageDensity = new GreyscaleDither(image);
     imageDensity.greyscaleDitherImage(numberOfColors);
-    this.image = imageDensity.image;
+    updateImage(imageDensity.image);
   }
 
   protected void checkImage() {
@@ -2,13 +2,13 @@ package model;
 
 import model.channel.ColorChannelImpl;
 import model.image.Image;
-import model.image.ImageImpl;
+import model.image.RasterImage;
+import model.image.TiledImage;
 import model.pixel.Pixel;
 import model.pixel.PixelImpl;
-import model.utils.Point2D;
+import model.utils.ImageParallelism;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
@@ -35,23 +35,51 @@ public class ImageMosaic extends ImageProcessingModelImpl {
 
   @Override
   public void mosaicImage(int numberOfSeeds) {
-    if (numberOfSeeds < 1 || numberOfSeeds > this.image.getHeight() * this.image.getWidth()) {
+    if (numberOfSeeds < 1 || numberOfSeeds > (long) image.getHeight() * image.getWidth()) {
       throw new IllegalArgumentException("Invalid number of seeds.");
     }
-    int[][][] mosaicImage = new int[image.getHeight()][image.getWidth()][3];
+    TiledImage source = getTiledImage();
+    int width = source.getWidth();
+    int height = source.getHeight();
     List<Pixel> seeds = generateSeeds(numberOfSeeds);
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        Point2D pixel = new Point2D(i, j);
-        List<Double> distances = new ArrayList<>();
-        for (Pixel seed : seeds) {
-          distances.add(pixel.calculateDistance(new Point2D(seed.getRow(), seed.getColumn())));
+    int[] seedRows = new int[seeds.size()];
+    int[] seedColumns = new int[seeds.size()];
+    int[] seedColors = new int[seeds.size()];
+    for (int s = 0; s < seeds.size(); s++) {
+      seedRows[s] = seeds.get(s).getRow();
+      seedColumns[s] = seeds.get(s).getColumn();
+      seedColors[s] = source.getRGB(seedRows[s], seedColumns[s]);
+    }
+    int bandRows = Math.min(height, source.getBandRows());
+    int bands = (height + bandRows - 1) / bandRows;
+    TiledImage mosaic = source.create(width, height);
+    // fewer threads are used when their bands would not fit in a quarter of the memory
+    int workers = (int) Math.min(Math.min(bands, ImageParallelism.getParallelism()),
+        Math.max(1, Runtime.getRuntime().maxMemory() / 4 / (4L * width * bandRows)));
+    ImageParallelism.forEach(workers, worker -> {
+      int[] band = new int[width * bandRows];
+      for (int row = worker * bandRows; row < height; row += workers * bandRows) {
+        int rows = Math.min(bandRows, height - row);
+        for (int i = 0; i < rows; i++) {
+          for (int j = 0; j < width; j++) {
+            int closest = 0;
+            long closestDistance = Long.MAX_VALUE;
+            for (int s = 0; s < seedRows.length; s++) {
+              long seedRow = row + i - seedRows[s];
+              long seedColumn = j - seedColumns[s];
+              long distance = seedRow * seedRow + seedColumn * seedColumn;
+              if (distance < closestDistance) {
+                closestDistance = distance;
+                closest = s;
+              }
+            }
+            band[i * width + j] = seedColors[closest];
+          }
         }
-        Pixel mosaicSeed = seeds.get(distances.indexOf(Collections.min(distances)));
-        mosaicImage[i][j] = image.getImage()[mosaicSeed.getRow()][mosaicSeed.getColumn()];
+        mosaic.writeRows(row, rows, band);
       }
-    }
-    this.image = new ImageImpl(mosaicImage);
+    });
+    this.image = mosaic;
   }
 
   /**
@@ -61,7 +89,7 @@ public class ImageMosaic extends ImageProcessingModelImpl {
    * @return a list of type {@link Pixel} which contains the generated seeds.
    */
   private List<Pixel> generateSeeds(int numberOfSeeds) {
-    if (numberOfSeeds < 1 || numberOfSeeds > this.image.getHeight() * this.image.getWidth()) {
+    if (numberOfSeeds < 1 || numberOfSeeds > (long) image.getHeight() * image.getWidth()) {
       throw new IllegalArgumentException("Invalid number of seeds.");
     }
     List<Pixel> seeds = new ArrayList<>();
@@ -69,7 +97,9 @@ public class ImageMosaic extends ImageProcessingModelImpl {
     while (seeds.size() < numberOfSeeds) {
       int row = rand.nextInt(image.getHeight());
       int column = rand.nextInt(image.getWidth());
-      Pixel pixel = new PixelImpl(row, column, new ColorChannelImpl(image.getImage()[row][column]));
+      int rgb = image.getRGB(row, column);
+      Pixel pixel = new PixelImpl(row, column, new ColorChannelImpl(new int[] {
+          RasterImage.red(rgb), RasterImage.green(rgb), RasterImage.blue(rgb) }));
       if (seeds.isEmpty()) {
         seeds.add(pixel);
       } else {
@@ -1,7 +1,7 @@
 package model;
 
 import model.image.Image;
-import model.image.ImageImpl;
+import model.image.TiledImage;
 
 /**
  * Class which extends the {@link ImageProcessingModelImpl} class to implement
@@ -34,14 +34,15 @@ public class ImagePixelation extends ImageProcessingModelImpl {
     int squareSizeHeight = image.getHeight() / numberOfPixelsHeight;
     int squareSizeHeightExtra = squareSizeHeight;
     int extraPixelsHeight = image.getHeight() % numberOfPixelsHeight;
-    int[][][] pixelatedImage = new int[image.getHeight()][image.getWidth()][3];
+    TiledImage pixelatedTiles = getTiledImage().create(image.getWidth(), image.getHeight());
+    int[] pixelatedImage = new int[image.getWidth() * (squareSizeHeight + 1)];
     int countWidth = 0;
     int countHeight = 0;
     for (int i = 0; i < image.getHeight(); i += squareSizeHeightExtra) {
+      if (countHeight >= numberOfPixelsHeight - extraPixelsHeight) {
+        squareSizeHeightExtra = squareSizeHeight + 1;
+      }
       for (int j = 0; j < image.getWidth(); j += squareSizeWidthExtra) {
-        if (countHeight >= numberOfPixelsHeight - extraPixelsHeight) {
-          squareSizeHeightExtra = squareSizeHeight + 1;
-        }
         if (countWidth == numberOfSuperPixels) {
           countWidth = 1;
           squareSizeWidthExtra = squareSizeWidth;
@@ -55,9 +56,11 @@ public class ImagePixelation extends ImageProcessingModelImpl {
         }
         createSuperPixel(pixelatedImage, i, j, squareSizeHeightExtra, squareSizeWidthExtra);
       }
+      pixelatedTiles.writeRows(i, Math.min(squareSizeHeightExtra, image.getHeight() - i),
+          pixelatedImage);
       countHeight++;
     }
-    this.image = new ImageImpl(pixelatedImage);
+    this.image = pixelatedTiles;
   }
 
   private void validateSuperPixels(int numberOfSuperPixels) {
@@ -70,14 +73,14 @@ public class ImagePixelation extends ImageProcessingModelImpl {
     }
   }
 
-  private void createSuperPixel(int[][][] pixelatedImage, int rowStart, int colStart,
+  private void createSuperPixel(int[] pixelatedImage, int rowStart, int colStart,
       int squareSizeHeight, int squareSizeWidth) {
+    int rgb = image.getRGB(rowStart + squareSizeHeight / 2, colStart + squareSizeWidth / 2);
     for (int row = rowStart; (row < rowStart + squareSizeHeight
         && row < image.getHeight()); row++) {
       for (int col = colStart; (col < colStart + squareSizeWidth
           && col < image.getWidth()); col++) {
-        pixelatedImage[row][col] = image.getImage()[rowStart + squareSizeHeight / 2][colStart
-            + squareSizeWidth / 2];
+        pixelatedImage[(row - rowStart) * image.getWidth() + col] = rgb;
       }
     }
   }
@@ -1,12 +1,15 @@
 package model;
 
 import model.channel.ColorChannel;
+import model.channel.FlossMetric;
 import model.image.Image;
 import model.pixel.Pixel;
 
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Extension of the {@link ImageModel} interface which contains the operations
@@ -47,6 +50,38 @@ public interface ImageProcessingModel extends ImageModel {
    */
   public void patternImage(String filename) throws IOException;
 
+  /**
+   * Method to apply cross stitch pattern image chunking, matching the colors of
+   * the image to the floss colors by the given color difference.
+   * 
+   * @param filename which represents the location of the file to be read.
+   * @param metric   which represents the color difference used to match colors.
+   * 
+   * @throws IOException for invalid filename input.
+   */
+  public void patternImage(String filename, FlossMetric metric) throws IOException;
+
+  /**
+   * Method to apply Floyd-Steinberg dithering with the floss colors as the
+   * palette, which generates the cross stitch pattern of the dithered image.
+   * 
+   * @param filename which represents the location of the file to be read.
+   * 
+   * @throws IOException for invalid filename input.
+   */
+  public void flossDitherImage(String filename) throws IOException;
+
+  /**
+   * Method to apply cross stitch pattern image chunking which uses at most the
+   * given number of floss colors.
+   * 
+   * @param filename       which represents the location of the file to be read.
+   * @param numberOfColors which represents the maximum number of floss colors.
+   * 
+   * @throws IOException for invalid filename input.
+   */
+  public void patternImage(String filename, int numberOfColors) throws IOException;
+
   /**
    * Method to save the image pattern generated into a text file by taking input
    * of the destination.
@@ -58,6 +93,40 @@ public interface ImageProcessingModel extends ImageModel {
    */
   public void savePattern(String filename, String flossFile) throws IOException;
 
+  /**
+   * Method to get the cross stitch pattern of the current image. The pattern is
+   * generated once for every version of the image and reused by the operations
+   * that need it.
+   * 
+   * @param flossFile which represents the location of the file containing floss
+   *                  colors.
+   * @return the {@link PatternResult} of the current image.
+   * @throws IOException for invalid floss file.
+   */
+  public PatternResult getPattern(String flossFile) throws IOException;
+
+  /**
+   * Method to write the cross stitch pattern of the current image to the given
+   * output such as the output of the controller.
+   * 
+   * @param output    which represents the destination the pattern is written to.
+   * @param flossFile which represents the location of the file containing floss
+   *                  colors.
+   * @throws IOException for invalid floss file or output.
+   */
+  public void writePattern(Appendable output, String flossFile) throws IOException;
+
+  /**
+   * Method used to save the image in the background. The image as it is when
+   * the method is called is saved while the other operations continue, and the
+   * saves to the same file are done in the order they were requested.
+   * 
+   * @param filename which represents the location of the file to be saved.
+   * @return a {@link Future} which completes when the image has been saved, or
+   *         fails with the {@link IOException} of the save.
+   */
+  public Future<Void> saveImageAsync(String filename);
+
   /**
    * Method to load the image from the given filename.
    * 
@@ -66,8 +135,27 @@ public interface ImageProcessingModel extends ImageModel {
    */
   public void loadImage(String filename) throws IOException;
 
+  /**
+   * Method to load a part of the image from the given filename at a reduced
+   * size. Only the pixels needed for the requested size are decoded, which is
+   * faster and uses less memory for large images.
+   * 
+   * @param filename which represents the location of the file to be loaded.
+   * @param width    which represents the minimum width of the loaded image, or
+   *                 0 for no limit.
+   * @param height   which represents the minimum height of the loaded image,
+   *                 or 0 for no limit.
+   * @param region   which represents the region of the file to be loaded, or
+   *                 null for the whole image.
+   * @throws IOException for invalid filename input.
+   */
+  public void loadImage(String filename, int width, int height, Rectangle region)
+      throws IOException;
+
   /**
    * Method used to retrieve a {@link BufferedImage} from the {@link Image} data.
+   * The same {@link BufferedImage} is returned until the image is changed by an
+   * operation, and it is not to be modified by the caller.
    * 
    * @return a {@link BufferedImage} generated from the {@link Image} data.
    */
@@ -75,7 +163,8 @@ public interface ImageProcessingModel extends ImageModel {
 
   /**
    * Method used to retrieve a {@link BufferedImage} from the original
-   * {@link Image} data.
+   * {@link Image} data. The same {@link BufferedImage} is returned until another
+   * image is loaded, and it is not to be modified by the caller.
    * 
    * @return a {@link BufferedImage} generated from the original {@link Image}
    *         data.
@@ -138,4 +227,30 @@ public interface ImageProcessingModel extends ImageModel {
    */
   public void removeDmc(int[] color, String flossFile);
 
+  /**
+   * Method used to replace the image with the original image which was loaded.
+   * The original image is kept in memory, so the file is not read again.
+   * 
+   * @throws IllegalArgumentException if no image has been loaded.
+   */
+  public void resetImage() throws IllegalArgumentException;
+
+  /**
+   * Method used to choose whether the original image is kept compressed in
+   * memory. A compressed original image uses less memory, but takes longer to
+   * be restored or displayed. The choice applies to the images loaded after it
+   * has been made.
+   * 
+   * @param compressed which is true if the original image is to be compressed.
+   */
+  public void setOriginalCompression(boolean compressed);
+
+  /**
+   * Method used to set the number of threads used to process an image.
+   * 
+   * @param threads which represents the number of threads to be used.
+   * @throws IllegalArgumentException for invalid number of threads.
+   */
+  public void setParallelism(int threads) throws IllegalArgumentException;
+
 }
@@ -2,14 +2,26 @@ package model;
 
 import model.channel.ColorChannel;
 import model.channel.ColorChannelImpl;
-import model.channel.FlossColorImpl;
+import model.channel.FlossMetric;
+import model.channel.FlossPalette;
+import model.image.CompressedImage;
 import model.image.Image;
-import model.image.ImageImpl;
+import model.image.MappedImage;
+import model.image.RasterImage;
+import model.image.SharedTiledImage;
+import model.image.TiledImage;
+import model.utils.BackgroundImageWriter;
+import model.utils.ImageParallelism;
 import model.utils.ImageUtilities;
+import model.utils.NetpbmCodec;
 
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 /**
  * Implementation class of the {@link ImageProcessingModel} interface which
@@ -21,12 +33,22 @@ import java.util.Map;
  */
 public class ImageProcessingModelImpl extends ImageModelImpl implements ImageProcessingModel {
 
+  private static final int PREVIEW_SIZE = 4096;
+
+  private PatternResult patternResult;
+  private long patternVersion;
+  private BackgroundImageWriter writer;
+  private final Map<Object, BufferedImage> bufferedImages;
+  private boolean compressOriginal;
+  private CompressedImage compressedOriginal;
+
   /**
    * Default constructor for the abstract implementation class of
    * {@link ImageProcessingModel}.
    */
   public ImageProcessingModelImpl() {
     super();
+    this.bufferedImages = new WeakHashMap<>();
   }
 
   /**
@@ -36,6 +58,7 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
    */
   public ImageProcessingModelImpl(Image image) {
     super(image);
+    this.bufferedImages = new WeakHashMap<>();
   }
 
   @Override
@@ -46,7 +69,7 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
     }
     ImageMosaic imageMosaic = new ImageMosaic(image);
     imageMosaic.mosaicImage(numberOfSeeds);
-    this.image = imageMosaic.image;
+    updateImage(imageMosaic.image);
   }
 
   @Override
@@ -57,18 +80,54 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
     }
     ImagePixelation imagePixelation = new ImagePixelation(image);
     imagePixelation.pixelateImage(numberOfSuperPixels);
-    this.image = imagePixelation.image;
+    updateImage(imagePixelation.image);
   }
 
   @Override
   public void patternImage(String filename) throws IOException {
+    patternImage(filename, FlossMetric.REDMEAN);
+  }
+
+  @Override
+  public void patternImage(String filename, FlossMetric metric) throws IOException {
     checkImage();
     if (null == filename || filename.isBlank()) {
       throw new IllegalArgumentException("Invalid filename.");
     }
+    if (null == metric) {
+      throw new IllegalArgumentException("Invalid color matching mode.");
+    }
     CrossStitchPattern crossStitchPattern = new CrossStitchPattern(image, filename);
-    crossStitchPattern.patternImage();
-    this.image = crossStitchPattern.image;
+    crossStitchPattern.patternImage(metric);
+    updateImage(crossStitchPattern.image);
+    setPattern(crossStitchPattern.getPatternResult());
+  }
+
+  @Override
+  public void patternImage(String filename, int numberOfColors) throws IOException {
+    checkImage();
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Invalid filename.");
+    }
+    if (numberOfColors <= 0) {
+      throw new IllegalArgumentException("Invalid number of colors.");
+    }
+    CrossStitchPattern crossStitchPattern = new CrossStitchPattern(image, filename);
+    crossStitchPattern.patternImage(numberOfColors);
+    updateImage(crossStitchPattern.image);
+    setPattern(crossStitchPattern.getPatternResult());
+  }
+
+  @Override
+  public void flossDitherImage(String filename) throws IOException {
+    checkImage();
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Invalid filename.");
+    }
+    FlossDither flossDither = new FlossDither(image, filename);
+    flossDither.flossDitherImage();
+    updateImage(flossDither.image);
+    setPattern(flossDither.getPatternResult());
   }
 
   @Override
@@ -77,9 +136,78 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
     if (null == filename || filename.isBlank()) {
       throw new IllegalArgumentException("Invalid filename.");
     }
-    CrossStitchPattern crossStitchPattern = new CrossStitchPattern(image, flossFile);
+    CrossStitchPattern crossStitchPattern = new CrossStitchPattern(image, flossFile,
+        getPattern(flossFile));
     crossStitchPattern.savePattern(filename);
-    this.image = crossStitchPattern.image;
+  }
+
+  @Override
+  public void writePattern(Appendable output, String flossFile) throws IOException {
+    if (null == output) {
+      throw new IllegalArgumentException("Invalid output.");
+    }
+    new PatternTextWriter(getPattern(flossFile)).write(output);
+  }
+
+  @Override
+  public PatternResult getPattern(String flossFile) throws IOException {
+    checkImage();
+    if (null == patternResult || patternVersion != imageVersion
+        || patternResult.getPalette() != FlossPalette.getPalette(flossFile)) {
+      setPattern(new CrossStitchPattern(image, flossFile).getPatternResult());
+    }
+    return patternResult;
+  }
+
+  /**
+   * Method used to remember the pattern generated for the current version of the
+   * image so that it is not generated again.
+   *
+   * @param patternResult which is the pattern of the current image.
+   */
+  private void setPattern(PatternResult patternResult) {
+    this.patternResult = patternResult;
+    this.patternVersion = imageVersion;
+  }
+
+  @Override
+  public void saveImage(String filename) throws IOException {
+    awaitSaves(filename);
+    super.saveImage(filename);
+  }
+
+  @Override
+  public Future<Void> saveImageAsync(String filename) {
+    checkImage();
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Filename cannot be empty.");
+    }
+    Image snapshot = image;
+    if (NetpbmCodec.STANDARD_STREAM.equals(filename)) {
+      try {
+        writeImage(snapshot, filename);
+        return CompletableFuture.completedFuture(null);
+      } catch (IOException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    if (null == writer) {
+      int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+      writer = new BackgroundImageWriter(threads, 2 * threads);
+    }
+    return writer.submit(filename, () -> writeImage(snapshot, filename));
+  }
+
+  /**
+   * Helper method to wait until the saves of a file which are being done in the
+   * background are done.
+   *
+   * @param filename which represents the location of the file.
+   */
+  private void awaitSaves(String filename) {
+    if (null != writer && null != filename) {
+      writer.await(filename);
+    }
   }
 
   @Override
@@ -87,21 +215,126 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
     if (null == filename || filename.isBlank()) {
       throw new IllegalArgumentException("Invalid filename.");
     }
-    this.image = new ImageImpl(filename);
-    this.originalImage = new ImageImpl(filename);
+    awaitSaves(filename);
+    Image loadedImage;
+    if (NetpbmCodec.isNetpbm(filename)) {
+      loadedImage = NetpbmCodec.read(filename);
+    } else {
+      int width;
+      int height;
+      try {
+        width = ImageUtilities.getWidth(filename);
+        height = ImageUtilities.getHeight(filename);
+      } catch (IOException e) {
+        throw new IOException("Unable to read file.");
+      }
+      if (MappedImage.isNeeded(width, height)) {
+        loadedImage = MappedImage.read(filename);
+      } else {
+        loadedImage = RasterImage.read(filename);
+      }
+    }
+    updateImage(loadedImage);
+    keepOriginal();
+    shareLoadedPixels(loadedImage);
+  }
+
+  @Override
+  public void loadImage(String filename, int width, int height, Rectangle region)
+      throws IOException {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Invalid filename.");
+    }
+    awaitSaves(filename);
+    RasterImage loadedImage = RasterImage.read(filename, width, height, region);
+    updateImage(loadedImage);
+    keepOriginal();
+    shareLoadedPixels(loadedImage);
+  }
+
+  /**
+   * Helper method to display the image which has been loaded, and its
+   * original image, from the pixels the file was read into. The
+   * {@link BufferedImage} shares the array of the loaded {@link RasterImage},
+   * so neither image is copied again to be displayed.
+   * 
+   * @param loadedImage which is the {@link Image} read from the file.
+   */
+  private void shareLoadedPixels(Image loadedImage) {
+    if (loadedImage instanceof RasterImage) {
+      BufferedImage bufferedImage = ((RasterImage) loadedImage).toBufferedImage();
+      bufferedImages.put(image, bufferedImage);
+      bufferedImages.put(null != compressedOriginal ? compressedOriginal : originalImage,
+          bufferedImage);
+    }
+  }
+
+  /**
+   * Helper method to keep the image which has been loaded as the original
+   * image. The original image shares the tiles of the loaded image, or is
+   * compressed if compression has been chosen and the image is in memory.
+   */
+  private void keepOriginal() {
+    if (compressOriginal && image instanceof SharedTiledImage) {
+      this.compressedOriginal = CompressedImage.of((SharedTiledImage) image);
+      this.originalImage = null;
+    } else {
+      this.compressedOriginal = null;
+      this.originalImage = ((TiledImage) image).copy();
+    }
+  }
+
+  @Override
+  public void resetImage() throws IllegalArgumentException {
+    checkImage();
+    BufferedImage original = bufferedImages.get(
+        null != compressedOriginal ? compressedOriginal : originalImage);
+    if (null != compressedOriginal) {
+      updateImage(compressedOriginal.toImage());
+    } else {
+      updateImage(((TiledImage) originalImage).copy());
+    }
+    if (null != original) {
+      bufferedImages.put(image, original);
+    }
+  }
+
+  @Override
+  public void setOriginalCompression(boolean compressed) {
+    this.compressOriginal = compressed;
   }
 
   @Override
   public BufferedImage getBufferedImage() {
     checkImage();
-    return ImageUtilities.getBufferedImage(image.getImage(), image.getWidth(), image.getHeight());
+    return toBufferedImage(image);
   }
 
   @Override
   public BufferedImage getOriginalImage() {
     checkImage();
-    return ImageUtilities.getBufferedImage(originalImage.getImage(), originalImage.getWidth(),
-        originalImage.getHeight());
+    if (null != compressedOriginal) {
+      return bufferedImages.computeIfAbsent(compressedOriginal,
+          key -> RasterImage.of(compressedOriginal.toImage()).toBufferedImage());
+    }
+    return toBufferedImage(originalImage);
+  }
+
+  /**
+   * Helper method to get the {@link BufferedImage} of an {@link Image}. A
+   * preview is created for an image which is stored outside of the memory of
+   * the program. The {@link BufferedImage} of any other image is created once
+   * and kept while the image is used by the model.
+   * 
+   * @param image which is the {@link Image} to be converted.
+   * @return the {@link BufferedImage} of the {@link Image}.
+   */
+  private BufferedImage toBufferedImage(Image image) {
+    if (image instanceof MappedImage) {
+      return ((MappedImage) image).getPreview(PREVIEW_SIZE);
+    }
+    return bufferedImages.computeIfAbsent(image,
+        key -> RasterImage.of(image).toBufferedImage());
   }
 
   @Override
@@ -113,12 +346,12 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
     CustomCrossStitchPattern customCrossStitchPattern = new CustomCrossStitchPattern(image,
         flossFile);
     customCrossStitchPattern.swapDmcColor(oldColor, newColor);
-    this.image = customCrossStitchPattern.image;
+    updateImage(customCrossStitchPattern.image);
   }
 
   @Override
   public Map<Character, int[]> getAvailableFlossColors(String flossFile) throws IOException {
-    return new FlossColorImpl(new int[3], flossFile).getAvailableFloss();
+    return FlossPalette.getPalette(flossFile).getAvailableFloss();
   }
 
   @Override
@@ -130,12 +363,15 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
     CustomCrossStitchPattern customCrossStitchPattern = new CustomCrossStitchPattern(image,
         flossFile);
     customCrossStitchPattern.patternImageWithCustomDmc(colorPalette);
-    this.image = customCrossStitchPattern.image;
+    updateImage(customCrossStitchPattern.image);
+    setPattern(customCrossStitchPattern.getPatternResult());
   }
 
   @Override
   public ColorChannel getPixelColors(int row, int col) throws IOException {
-    return new ColorChannelImpl(image.getImage()[row][col]);
+    int rgb = image.getRGB(row, col);
+    return new ColorChannelImpl(new int[] { RasterImage.red(rgb), RasterImage.green(rgb),
+        RasterImage.blue(rgb) });
   }
 
   @Override
@@ -146,7 +382,12 @@ public class ImageProcessingModelImpl extends ImageModelImpl implements ImagePro
     CustomCrossStitchPattern customCrossStitchPattern = new CustomCrossStitchPattern(image,
         flossFile);
     customCrossStitchPattern.removeDmc(color);
-    this.image = customCrossStitchPattern.image;
+    updateImage(customCrossStitchPattern.image);
+  }
+
+  @Override
+  public void setParallelism(int threads) throws IllegalArgumentException {
+    ImageParallelism.setParallelism(threads);
   }
 
 }
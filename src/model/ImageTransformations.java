@@ -1,12 +1,8 @@
 package model;
 
-import model.channel.ColorChannelImpl;
 import model.image.Image;
-import model.image.ImageImpl;
-import model.pixel.Pixel;
-import model.pixel.PixelImpl;
-import model.utils.ImageModelUtils;
-import model.utils.ImageTransformationUtils;
+import model.image.RasterImage;
+import model.image.TiledImage;
 
 /**
  * This class extends the abstract {@link ImageModelImpl} class and implements
@@ -39,15 +35,55 @@ public abstract class ImageTransformations extends ImageModelImpl {
     if (null == transformation) {
       throw new IllegalArgumentException("Invalid transformation matrix.");
     }
-    int[][][] newImage = new int[image.getHeight()][image.getWidth()][3];
-    for (int i = 0; i < image.getHeight(); i++) {
-      for (int j = 0; j < image.getWidth(); j++) {
-        Pixel curPixel = new PixelImpl(i, j, new ColorChannelImpl(image.getImage()[i][j]));
-        ImageModelUtils transformationUtils = new ImageTransformationUtils();
-        newImage[i][j] = transformationUtils.applyTransformationToImage(transformation, curPixel);
+    if (transformation.length != 3) {
+      throw new IllegalArgumentException("Invalid transformation matrix.");
+    }
+    TiledImage source = getTiledImage();
+    int width = source.getWidth();
+    int bandRows = source.getBandRows();
+    TiledImage transformed = source.create(width, source.getHeight());
+    int[] band = new int[width * Math.min(source.getHeight(), bandRows)];
+    for (int row = 0; row < source.getHeight(); row += bandRows) {
+      int rows = Math.min(bandRows, source.getHeight() - row);
+      source.readRows(row, rows, band);
+      transformPixels(transformation, band, band, rows * width);
+      transformed.writeRows(row, rows, band);
+    }
+    this.image = transformed;
+  }
+
+  /**
+   * Helper method which applies the transformation to the given pixels. Every
+   * rounded product of a channel and a weight of the transformation is looked
+   * up in a table with an entry for every value of the channel, so the pixels
+   * are transformed with additions only.
+   * 
+   * @param transformation which is the transformation matrix to be applied.
+   * @param pixels         which contains the pixels to be transformed.
+   * @param transformed    which is where the transformed pixels are stored.
+   * @param length         which is the number of pixels to be transformed.
+   */
+  private static void transformPixels(double[][] transformation, int[] pixels,
+      int[] transformed, int length) {
+    int[][] products = new int[9][256];
+    for (int i = 0; i < 3; i++) {
+      if (null == transformation[i] || transformation[i].length != 3) {
+        throw new IllegalArgumentException("Invalid transformation matrix.");
       }
+      for (int j = 0; j < 3; j++) {
+        for (int value = 0; value < 256; value++) {
+          products[i * 3 + j][value] = (int) Math.round(value * transformation[i][j]);
+        }
+      }
+    }
+    for (int p = 0; p < length; p++) {
+      int red = RasterImage.red(pixels[p]);
+      int green = RasterImage.green(pixels[p]);
+      int blue = RasterImage.blue(pixels[p]);
+      transformed[p] = RasterImage.pack(products[0][red] + products[1][green] + products[2][blue],
+          products[3][red] + products[4][green] + products[5][blue],
+          products[6][red] + products[7][green] + products[8][blue]);
     }
-    this.image = new ImageImpl(newImage);
   }
 
 }
@@ -0,0 +1,154 @@
+package model;
+
+import model.channel.FlossPalette;
+import model.image.TiledImage;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Class representing the result of matching every pixel of an image to a floss
+ * color. Contains the floss color of every stitch, the number of stitches of
+ * every floss color and the legend of the pattern. The result is computed once
+ * for an image and shared by the operations that use the pattern. The floss
+ * colors of the stitches are kept as the pixels of a {@link TiledImage}, so the
+ * pattern is stored in tiles like the image and is read one band of rows at a
+ * time.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class PatternResult {
+
+  private final FlossPalette palette;
+  private final TiledImage flossIndices;
+  private final long[] counts;
+  private final int width;
+  private final int height;
+
+  /**
+   * Constructor for the {@link PatternResult} which takes the palette and the
+   * floss color of every stitch as input.
+   *
+   * @param palette      which represents the palette the floss colors belong to.
+   * @param flossIndices which is an image whose pixels are the palette indices
+   *                     of the floss colors of the stitches.
+   */
+  public PatternResult(FlossPalette palette, TiledImage flossIndices) {
+    if (null == palette || null == flossIndices) {
+      throw new IllegalArgumentException("Invalid pattern.");
+    }
+    this.palette = palette;
+    this.flossIndices = flossIndices;
+    this.height = flossIndices.getHeight();
+    this.width = flossIndices.getWidth();
+    this.counts = new long[palette.size()];
+    int bandRows = getBandRows();
+    int[] indices = new int[width * bandRows];
+    for (int row = 0; row < height; row += bandRows) {
+      int rows = Math.min(bandRows, height - row);
+      readFlossIndices(row, rows, indices);
+      for (int p = 0; p < rows * width; p++) {
+        counts[indices[p]]++;
+      }
+    }
+  }
+
+  /**
+   * Method used to get the palette the floss colors of the pattern belong to.
+   *
+   * @return the {@link FlossPalette} of the pattern.
+   */
+  public FlossPalette getPalette() {
+    return palette;
+  }
+
+  /**
+   * Method used to get the width of the pattern in stitches.
+   *
+   * @return the width of the pattern.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Method used to get the height of the pattern in stitches.
+   *
+   * @return the height of the pattern.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Method used to get the palette index of the floss color of a stitch.
+   *
+   * @param row    which is the row of the stitch.
+   * @param column which is the column of the stitch.
+   * @return the palette index of the floss color.
+   */
+  public int getFlossIndex(int row, int column) {
+    return flossIndices.getRGB(row, column);
+  }
+
+  /**
+   * Method used to get the number of rows of the pattern which are best read
+   * together by {@link #readFlossIndices(int, int, int[])}.
+   *
+   * @return the number of rows of a band.
+   */
+  public int getBandRows() {
+    return Math.min(height, flossIndices.getBandRows());
+  }
+
+  /**
+   * Method used to read the palette indices of the floss colors of a band of
+   * rows of the pattern.
+   *
+   * @param row     which is the first row of the band.
+   * @param rows    which is the number of rows of the band.
+   * @param indices which is where the palette indices of the stitches are
+   *                stored one row after the other.
+   */
+  public void readFlossIndices(int row, int rows, int[] indices) {
+    flossIndices.readRows(row, rows, indices);
+  }
+
+  /**
+   * Method used to get the symbol of the floss color of a stitch.
+   *
+   * @param row    which is the row of the stitch.
+   * @param column which is the column of the stitch.
+   * @return the symbol of the floss color.
+   */
+  public char getSymbol(int row, int column) {
+    return palette.getSymbol(getFlossIndex(row, column));
+  }
+
+  /**
+   * Method used to get the number of stitches of a floss color.
+   *
+   * @param index which is the palette index of the floss color.
+   * @return the number of stitches.
+   */
+  public long getCount(int index) {
+    return counts[index];
+  }
+
+  /**
+   * Method used to get the legend of the pattern.
+   *
+   * @return a map containing the dmc codes of the floss colors used in the
+   *         pattern as keys in ascending order and their symbols as values.
+   */
+  public Map<Integer, Character> getLegend() {
+    Map<Integer, Character> legend = new TreeMap<>();
+    for (int index = 0; index < counts.length; index++) {
+      if (counts[index] > 0) {
+        legend.put(palette.getCode(index), palette.getSymbol(index));
+      }
+    }
+    return legend;
+  }
+}
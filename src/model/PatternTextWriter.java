@@ -0,0 +1,95 @@
+package model;
+
+import model.channel.FlossPalette;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Class used to write the text chart of a cross stitch pattern. The header,
+ * every row of stitches and the legend are written to the destination as they
+ * are produced so that the memory used does not depend on the size of the
+ * chart.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class PatternTextWriter {
+
+  private final PatternResult patternResult;
+
+  /**
+   * Constructor for the {@link PatternTextWriter} which takes the pattern to be
+   * written as input.
+   *
+   * @param patternResult which represents the pattern to be written.
+   */
+  public PatternTextWriter(PatternResult patternResult) {
+    if (null == patternResult) {
+      throw new IllegalArgumentException("Invalid pattern.");
+    }
+    this.patternResult = patternResult;
+  }
+
+  /**
+   * Method used to write the pattern to a text file encoded in UTF-8.
+   *
+   * @param filename which is the location where the file is to be saved.
+   * @throws IOException for invalid file.
+   */
+  public void write(String filename) throws IOException {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Invalid filename.");
+    }
+    try (Writer writer = Files.newBufferedWriter(Paths.get(filename), StandardCharsets.UTF_8)) {
+      write(writer);
+    }
+  }
+
+  /**
+   * Method used to write the pattern to a destination such as a writer or the
+   * output of the controller.
+   *
+   * @param output which is the destination the pattern is written to.
+   * @throws IOException when the destination cannot be written to.
+   */
+  public void write(Appendable output) throws IOException {
+    if (null == output) {
+      throw new IllegalArgumentException("Invalid output.");
+    }
+    output.append(String.valueOf(patternResult.getWidth()));
+    output.append("x");
+    output.append(String.valueOf(patternResult.getHeight()));
+    output.append("\n");
+    FlossPalette palette = patternResult.getPalette();
+    int[] indices = new int[patternResult.getWidth()];
+    char[] row = new char[patternResult.getWidth() + 1];
+    row[row.length - 1] = '\n';
+    for (int i = 0; i < patternResult.getHeight(); i++) {
+      patternResult.readFlossIndices(i, 1, indices);
+      for (int j = 0; j < indices.length; j++) {
+        row[j] = palette.getSymbol(indices[j]);
+      }
+      if (output instanceof Writer) {
+        ((Writer) output).write(row);
+      } else {
+        output.append(CharBuffer.wrap(row));
+      }
+    }
+
+    output.append("\nLEGEND:\n");
+    Map<Integer, Character> dmcLegendMap = patternResult.getLegend();
+    for (Map.Entry<Integer, Character> entry : dmcLegendMap.entrySet()) {
+      output.append(entry.getValue());
+      output.append(" ");
+      output.append("DMC-");
+      output.append(String.valueOf(entry.getKey()));
+      output.append("\n");
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package model;
 
 import model.image.Image;
+import model.utils.BorderMode;
 
 /**
  * This class extends the {@link ImageFilters} class which extends the abstract
@@ -26,10 +27,15 @@ public class SharpenFilter extends ImageFilters {
 
   @Override
   public void sharpenImage() {
+    sharpenImage(BorderMode.ZERO);
+  }
+
+  @Override
+  public void sharpenImage(BorderMode border) {
     double[][] sharpenFilterMatrix = { { -0.125, -0.125, -0.125, -0.125, -0.125 },
         { -0.125, 0.25, 0.25, 0.25, -0.125 }, { -0.125, 0.25, 1, 0.25, -0.125 },
         { -0.125, 0.25, 0.25, 0.25, -0.125 }, { -0.125, -0.125, -0.125, -0.125, -0.125 } };
-    this.filterImage(sharpenFilterMatrix);
+    this.filterImage(sharpenFilterMatrix, border);
   }
 
 }
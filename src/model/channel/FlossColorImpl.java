@@ -1,11 +1,7 @@
 package model.channel;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * Implementation class of the {@link FlossColor} interface which represents the
@@ -15,9 +11,7 @@ import java.util.TreeMap;
  *
  */
 public class FlossColorImpl extends ColorChannelImpl implements FlossColor {
-  private final Map<Integer, Character> legend;
-  private final Map<Integer, ColorChannel> colorPalette;
-  private final Map<Character, int[]> flossColors;
+  private final FlossPalette palette;
 
   /**
    * Constructs a {@link FlossColor} instance with 3 color channels R, G and B by
@@ -28,39 +22,28 @@ public class FlossColorImpl extends ColorChannelImpl implements FlossColor {
    * @throws IllegalArgumentException for invalid size of colors.
    */
   public FlossColorImpl(int[] colors, String filename) throws IOException {
-    super(colors);
-    colorPalette = new TreeMap<>();
-    legend = new TreeMap<>();
-    flossColors = new HashMap<>();
-    if (null == filename || filename.isBlank()) {
-      throw new IllegalArgumentException("Invalid filename.");
-    }
-    this.getColorPalette(filename);
+    this(colors, FlossPalette.getPalette(filename));
   }
 
-  private void getColorPalette(String filename) throws IOException {
-    if (null == filename || filename.isBlank()) {
-      throw new IllegalArgumentException("Invalid filename.");
-    }
-    BufferedReader bufferedReader = new BufferedReader(new FileReader(filename));
-    String line;
-    while ((line = bufferedReader.readLine()) != null) {
-      String[] lineArray = line.split(",");
-      Integer dmcCode = Integer.parseInt(lineArray[0]);
-      int colorR = Integer.parseInt(lineArray[2]);
-      int colorG = Integer.parseInt(lineArray[3]);
-      int colorB = Integer.parseInt(lineArray[4]);
-      Character symbol = (char) Integer.parseInt(lineArray[5]);
-      this.colorPalette.put(dmcCode, new ColorChannelImpl(new int[] { colorR, colorG, colorB }));
-      this.legend.put(dmcCode, symbol);
-      this.flossColors.put(symbol, new int[] { colorR, colorG, colorB });
+  /**
+   * Constructs a {@link FlossColor} instance with 3 color channels R, G and B by
+   * taking input of an already loaded color palette.
+   *
+   * @param colors  represents the RGB values.
+   * @param palette represents the floss color palette.
+   * @throws IllegalArgumentException for invalid size of colors or palette.
+   */
+  public FlossColorImpl(int[] colors, FlossPalette palette) {
+    super(colors);
+    if (null == palette) {
+      throw new IllegalArgumentException("Color palette is invalid.");
     }
-    bufferedReader.close();
+    this.palette = palette;
   }
 
   @Override
   public Integer findClosestAvailableFloss() {
-    return this.findClosestAvailableFlossHelper(colorPalette);
+    return palette.getCode(findClosestIndex());
   }
 
   @Override
@@ -68,15 +51,22 @@ public class FlossColorImpl extends ColorChannelImpl implements FlossColor {
     if (null == colorPalette) {
       throw new IllegalArgumentException("Color palette is invalid.");
     }
-    Map<Integer, ColorChannel> palette = new TreeMap<>();
-    for (Character c : colorPalette.keySet()) {
-      for (Integer code : legend.keySet()) {
-        if (legend.get(code).equals(c)) {
-          palette.put(code, new ColorChannelImpl(colorPalette.get(c)));
+    int[] colors = getColorChannel();
+    int index = -1;
+    double closestDistance = 0;
+    for (int i = 0; i < palette.size(); i++) {
+      if (colorPalette.containsKey(palette.getSymbol(i))) {
+        double newDistance = palette.distance(i, colors[0], colors[1], colors[2]);
+        if (index < 0 || newDistance < closestDistance) {
+          closestDistance = newDistance;
+          index = i;
         }
       }
     }
-    return this.findClosestAvailableFlossHelper(palette);
+    if (index < 0) {
+      throw new IllegalArgumentException("Color palette is invalid.");
+    }
+    return palette.getCode(index);
   }
 
   @Override
@@ -84,12 +74,13 @@ public class FlossColorImpl extends ColorChannelImpl implements FlossColor {
     if (dmcCode < 0) {
       throw new IllegalArgumentException("Invalid dmc code.");
     }
-    return this.legend.get(dmcCode);
+    int index = palette.indexOfCode(dmcCode);
+    return index < 0 ? null : palette.getSymbol(index);
   }
 
   @Override
   public void modifyFlossColorChannel() {
-    setColorChannel(this.colorPalette.get(findClosestAvailableFloss()).getColorChannel());
+    setColorChannel(palette.getColor(findClosestIndex()));
   }
 
   @Override
@@ -97,41 +88,18 @@ public class FlossColorImpl extends ColorChannelImpl implements FlossColor {
     if (dmcCode < 0) {
       throw new IllegalArgumentException("Invalid dmc code.");
     }
-    return this.colorPalette.get(dmcCode);
+    int index = palette.indexOfCode(dmcCode);
+    return index < 0 ? null : new ColorChannelImpl(palette.getColor(index));
   }
 
   @Override
   public Map<Character, int[]> getAvailableFloss() {
-    return this.flossColors;
+    return palette.getAvailableFloss();
   }
 
-  private Integer findClosestAvailableFlossHelper(Map<Integer, ColorChannel> colorPalette) {
-    if (null == colorPalette) {
-      throw new IllegalArgumentException("Color palette is invalid.");
-    }
-    Integer index = (Integer) colorPalette.keySet().toArray()[0];
-    double closestDistance = applyMean(this, colorPalette.get(index));
-    for (Integer code : colorPalette.keySet()) {
-      double newDistance = applyMean(this, colorPalette.get(code));
-      if (newDistance < closestDistance) {
-        closestDistance = newDistance;
-        index = code;
-      }
-    }
-    return index;
-  }
-
-  private double applyMean(ColorChannel c1, ColorChannel c2) {
-    if (null == c1 || null == c2) {
-      throw new IllegalArgumentException("Invalid parameters to apply red mean.");
-    }
-    double redMean = (c1.getColorChannel()[0] + c2.getColorChannel()[0]) / 2.0;
-    double red = (2 + redMean / 256)
-        * (Math.abs(c1.getColorChannel()[0] - c2.getColorChannel()[0]));
-    double green = Math.pow((Math.abs(c1.getColorChannel()[1] - c2.getColorChannel()[1])), 2) * 4;
-    double blue = (2 + (255 - redMean) / 256)
-        * Math.pow((Math.abs(c1.getColorChannel()[2] - c2.getColorChannel()[2])), 2);
-    return Math.sqrt(red + green + blue);
+  private int findClosestIndex() {
+    int[] colors = getColorChannel();
+    return palette.findClosest(colors[0], colors[1], colors[2]);
   }
 
 }
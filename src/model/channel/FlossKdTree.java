@@ -0,0 +1,129 @@
+package model.channel;
+
+/**
+ * Implementation of {@link FlossMatcher} which stores a selection of the floss
+ * colors of a {@link FlossPalette} in a k-d tree. Every node keeps the bounding
+ * box of the floss colors below it, which is used to skip the parts of the tree
+ * that cannot contain a closer floss color under the red mean distance. The
+ * tree is built once for a custom palette and queries do not allocate.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class FlossKdTree implements FlossMatcher {
+
+  private static final double TOLERANCE = 1e-9;
+
+  private final FlossPalette palette;
+  private final int[] points;
+  private final int[] axis;
+  private final int[] minimum;
+  private final int[] maximum;
+
+  /**
+   * Constructor for the {@link FlossKdTree} which builds the tree for the given
+   * floss colors of the palette.
+   * 
+   * @param palette which is the floss palette containing the colors.
+   * @param indices which are the indices of the floss colors to be searched.
+   */
+  public FlossKdTree(FlossPalette palette, int[] indices) {
+    if (null == palette || null == indices || indices.length == 0) {
+      throw new IllegalArgumentException("Color palette is invalid.");
+    }
+    this.palette = palette;
+    this.points = indices.clone();
+    this.axis = new int[points.length];
+    this.minimum = new int[points.length * 3];
+    this.maximum = new int[points.length * 3];
+    build(0, points.length);
+  }
+
+  private int channel(int index, int channel) {
+    if (channel == 0) {
+      return palette.getRed(index);
+    }
+    return channel == 1 ? palette.getGreen(index) : palette.getBlue(index);
+  }
+
+  private void build(int start, int end) {
+    if (start >= end) {
+      return;
+    }
+    int node = (start + end) >>> 1;
+    int widest = 0;
+    for (int c = 0; c < 3; c++) {
+      int low = 255;
+      int high = 0;
+      for (int i = start; i < end; i++) {
+        low = Math.min(low, channel(points[i], c));
+        high = Math.max(high, channel(points[i], c));
+      }
+      minimum[node * 3 + c] = low;
+      maximum[node * 3 + c] = high;
+      if (high - low > maximum[node * 3 + widest] - minimum[node * 3 + widest]) {
+        widest = c;
+      }
+    }
+    axis[node] = widest;
+    sort(start, end, widest);
+    build(start, node);
+    build(node + 1, end);
+  }
+
+  private void sort(int start, int end, int channel) {
+    for (int i = start + 1; i < end; i++) {
+      int point = points[i];
+      int j = i - 1;
+      while (j >= start && compare(points[j], point, channel) > 0) {
+        points[j + 1] = points[j];
+        j--;
+      }
+      points[j + 1] = point;
+    }
+  }
+
+  private int compare(int first, int second, int channel) {
+    int difference = channel(first, channel) - channel(second, channel);
+    return difference != 0 ? difference : first - second;
+  }
+
+  @Override
+  public int findClosest(int red, int green, int blue) {
+    int root = (points.length - 1) >>> 1;
+    int best = points[root];
+    return search(0, points.length, red, green, blue, best,
+        palette.distance(best, red, green, blue));
+  }
+
+  private int search(int start, int end, int red, int green, int blue, int best,
+      double closestDistance) {
+    if (start >= end) {
+      return best;
+    }
+    int node = (start + end) >>> 1;
+    double limit = closestDistance * closestDistance * (1 + TOLERANCE) + TOLERANCE;
+    if (FlossPalette.lowerBound(red, green, blue, minimum[node * 3], maximum[node * 3],
+        minimum[node * 3 + 1], maximum[node * 3 + 1], minimum[node * 3 + 2],
+        maximum[node * 3 + 2]) > limit) {
+      return best;
+    }
+    int point = points[node];
+    double distance = palette.distance(point, red, green, blue);
+    if (distance < closestDistance || (distance == closestDistance && point < best)) {
+      best = point;
+      closestDistance = distance;
+    }
+    int value = axis[node] == 0 ? red : axis[node] == 1 ? green : blue;
+    if (value < channel(point, axis[node])) {
+      best = search(start, node, red, green, blue, best, closestDistance);
+      best = search(node + 1, end, red, green, blue, best,
+          palette.distance(best, red, green, blue));
+    } else {
+      best = search(node + 1, end, red, green, blue, best, closestDistance);
+      best = search(start, node, red, green, blue, best,
+          palette.distance(best, red, green, blue));
+    }
+    return best;
+  }
+}
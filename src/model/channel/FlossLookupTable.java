@@ -0,0 +1,105 @@
+package model.channel;
+
+/**
+ * Implementation of {@link FlossMatcher} which divides the RGB cube into cells
+ * and stores for every cell the floss colors which can be the closest to any
+ * color inside it. A query only compares the color against the few candidates
+ * of its cell and returns the same floss color as a search of the whole
+ * {@link FlossPalette}.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class FlossLookupTable implements FlossMatcher {
+
+  private static final int CELL_BITS = 3;
+  private static final int CELL_SIZE = 1 << CELL_BITS;
+  private static final int CELLS = 256 >> CELL_BITS;
+  private static final double TOLERANCE = 1e-9;
+
+  private final FlossPalette palette;
+  private final int[] cellStart;
+  private final short[] candidates;
+
+  /**
+   * Constructor for the {@link FlossLookupTable} which builds the table for all
+   * the floss colors of the given palette.
+   * 
+   * @param palette which is the floss palette to be searched.
+   */
+  public FlossLookupTable(FlossPalette palette) {
+    if (null == palette) {
+      throw new IllegalArgumentException("Color palette is invalid.");
+    }
+    this.palette = palette;
+    this.cellStart = new int[CELLS * CELLS * CELLS + 1];
+    short[] cellCandidates = new short[palette.size()];
+    short[] table = new short[CELLS * CELLS * CELLS * 4];
+    int count = 0;
+    for (int cell = 0; cell < CELLS * CELLS * CELLS; cell++) {
+      int redMin = (cell / (CELLS * CELLS)) << CELL_BITS;
+      int greenMin = (cell / CELLS % CELLS) << CELL_BITS;
+      int blueMin = (cell % CELLS) << CELL_BITS;
+      int size = findCandidates(redMin, greenMin, blueMin, cellCandidates);
+      if (count + size > table.length) {
+        short[] grown = new short[Math.max(table.length * 2, count + size)];
+        System.arraycopy(table, 0, grown, 0, count);
+        table = grown;
+      }
+      System.arraycopy(cellCandidates, 0, table, count, size);
+      count += size;
+      cellStart[cell + 1] = count;
+    }
+    this.candidates = new short[count];
+    System.arraycopy(table, 0, this.candidates, 0, count);
+  }
+
+  private int findCandidates(int redMin, int greenMin, int blueMin, short[] cellCandidates) {
+    int redMax = redMin + CELL_SIZE - 1;
+    int greenMax = greenMin + CELL_SIZE - 1;
+    int blueMax = blueMin + CELL_SIZE - 1;
+    double closestUpperBound = Double.MAX_VALUE;
+    for (int i = 0; i < palette.size(); i++) {
+      closestUpperBound = Math.min(closestUpperBound,
+          palette.upperBound(i, redMin, redMax, greenMin, greenMax, blueMin, blueMax));
+    }
+    double limit = closestUpperBound * (1 + TOLERANCE) + TOLERANCE;
+    int size = 0;
+    for (int i = 0; i < palette.size(); i++) {
+      if (palette.lowerBound(i, redMin, redMax, greenMin, greenMax, blueMin,
+          blueMax) <= limit) {
+        cellCandidates[size++] = (short) i;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public int findClosest(int red, int green, int blue) {
+    if ((red | green | blue) < 0 || red > 255 || green > 255 || blue > 255) {
+      return palette.findClosest(red, green, blue);
+    }
+    int cell = ((red >> CELL_BITS) * CELLS + (green >> CELL_BITS)) * CELLS
+        + (blue >> CELL_BITS);
+    int end = cellStart[cell + 1];
+    int index = candidates[cellStart[cell]];
+    double closestDistance = palette.distance(index, red, green, blue);
+    for (int i = cellStart[cell] + 1; i < end; i++) {
+      double newDistance = palette.distance(candidates[i], red, green, blue);
+      if (newDistance < closestDistance) {
+        closestDistance = newDistance;
+        index = candidates[i];
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Method used to get the palette searched by the table.
+   * 
+   * @return the {@link FlossPalette} of the table.
+   */
+  public FlossPalette getPalette() {
+    return palette;
+  }
+}
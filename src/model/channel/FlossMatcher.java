@@ -0,0 +1,22 @@
+package model.channel;
+
+/**
+ * Interface which represents a strategy for finding the closest floss color of
+ * a {@link FlossPalette} for a given color.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public interface FlossMatcher {
+
+  /**
+   * Method used to find the index of the floss color in the palette closest to
+   * the given color.
+   * 
+   * @param red   which is the red channel of the color.
+   * @param green which is the green channel of the color.
+   * @param blue  which is the blue channel of the color.
+   * @return the index of the closest floss color in the palette.
+   */
+  public int findClosest(int red, int green, int blue);
+}
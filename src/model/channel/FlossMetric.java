@@ -0,0 +1,51 @@
+package model.channel;
+
+/**
+ * Enum which represents the color difference used to find the closest floss
+ * color of a color.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public enum FlossMetric {
+  /**
+   * Weighted euclidean distance in RGB space weighted by the mean red value.
+   */
+  REDMEAN,
+  /**
+   * Euclidean distance in CIELAB space, the Delta E 1976 difference.
+   */
+  CIE76,
+  /**
+   * The CIEDE2000 difference in CIELAB space.
+   */
+  CIEDE2000;
+
+  /**
+   * Method used to get the metric for the name used in commands. An empty name
+   * represents the default redmean metric, "lab" represents CIEDE2000 and
+   * "lab76" represents CIE76.
+   * 
+   * @param name which is the name of the metric.
+   * @return the {@link FlossMetric} with the given name.
+   * @throws IllegalArgumentException for an unknown name.
+   */
+  public static FlossMetric fromName(String name) throws IllegalArgumentException {
+    if (null == name) {
+      throw new IllegalArgumentException("Invalid color matching mode.");
+    }
+    switch (name.trim().toLowerCase()) {
+      case "":
+      case "redmean":
+        return REDMEAN;
+      case "lab":
+      case "ciede2000":
+        return CIEDE2000;
+      case "lab76":
+      case "cie76":
+        return CIE76;
+      default:
+        throw new IllegalArgumentException("Invalid color matching mode.");
+    }
+  }
+}
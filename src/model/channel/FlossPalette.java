@@ -0,0 +1,408 @@
+package model.channel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable representation of the DMC floss colors read from a floss palette
+ * file. A palette is loaded once for a given file and modification time and is
+ * shared by every pattern and view operation. The floss colors are stored in
+ * primitive arrays in ascending order of their dmc codes and are addressed by
+ * their index in the palette.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public final class FlossPalette implements FlossMatcher {
+
+  private static final Map<String, FlossPalette> PALETTES = new ConcurrentHashMap<>();
+
+  private final long lastModified;
+  private final int[] codes;
+  private final int[] red;
+  private final int[] green;
+  private final int[] blue;
+  private final char[] symbols;
+  private volatile FlossLookupTable lookupTable;
+  private final Map<FlossMetric, FlossMatcher> matchers = new EnumMap<>(FlossMetric.class);
+
+  private FlossPalette(long lastModified, Map<Integer, int[]> colors,
+      Map<Integer, Character> legend) {
+    this.lastModified = lastModified;
+    this.codes = new int[colors.size()];
+    this.red = new int[colors.size()];
+    this.green = new int[colors.size()];
+    this.blue = new int[colors.size()];
+    this.symbols = new char[colors.size()];
+    int index = 0;
+    for (Integer code : colors.keySet()) {
+      codes[index] = code;
+      red[index] = colors.get(code)[0];
+      green[index] = colors.get(code)[1];
+      blue[index] = colors.get(code)[2];
+      symbols[index] = legend.get(code);
+      index++;
+    }
+  }
+
+  /**
+   * Method used to retrieve the floss palette stored in the given file. The file
+   * is only read again when it has been modified since it was last loaded.
+   *
+   * @param filename which represents the location of the file containing the
+   *                 dmc floss colors details.
+   * @return the {@link FlossPalette} read from the file.
+   * @throws IOException for invalid file.
+   */
+  public static FlossPalette getPalette(String filename) throws IOException {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Invalid filename.");
+    }
+    Path path = Paths.get(filename).toAbsolutePath().normalize();
+    long lastModified = Files.getLastModifiedTime(path).toMillis();
+    FlossPalette palette = PALETTES.get(path.toString());
+    if (null == palette || palette.lastModified != lastModified) {
+      palette = readPalette(path, lastModified);
+      PALETTES.put(path.toString(), palette);
+    }
+    return palette;
+  }
+
+  private static FlossPalette readPalette(Path path, long lastModified) throws IOException {
+    Map<Integer, int[]> colors = new TreeMap<>();
+    Map<Integer, Character> legend = new TreeMap<>();
+    try (BufferedReader bufferedReader = Files.newBufferedReader(path,
+        StandardCharsets.ISO_8859_1)) {
+      String line;
+      while ((line = bufferedReader.readLine()) != null) {
+        String[] lineArray = line.split(",");
+        Integer dmcCode = Integer.parseInt(lineArray[0]);
+        int colorR = Integer.parseInt(lineArray[2]);
+        int colorG = Integer.parseInt(lineArray[3]);
+        int colorB = Integer.parseInt(lineArray[4]);
+        colors.put(dmcCode, new int[] { colorR, colorG, colorB });
+        legend.put(dmcCode, (char) Integer.parseInt(lineArray[5]));
+      }
+    }
+    if (colors.isEmpty()) {
+      throw new IOException("Floss palette is empty.");
+    }
+    return new FlossPalette(lastModified, colors, legend);
+  }
+
+  /**
+   * Method used to get the number of floss colors in the palette.
+   *
+   * @return the number of floss colors.
+   */
+  public int size() {
+    return codes.length;
+  }
+
+  /**
+   * Method used to get the dmc code of the floss color at the given index.
+   *
+   * @param index which is the index of the floss color in the palette.
+   * @return the dmc code of the floss color.
+   */
+  public int getCode(int index) {
+    return codes[index];
+  }
+
+  /**
+   * Method used to get the symbol of the floss color at the given index.
+   *
+   * @param index which is the index of the floss color in the palette.
+   * @return the symbol used in the legend for the floss color.
+   */
+  public char getSymbol(int index) {
+    return symbols[index];
+  }
+
+  /**
+   * Method used to get the red channel of the floss color at the given index.
+   *
+   * @param index which is the index of the floss color in the palette.
+   * @return the red channel value.
+   */
+  public int getRed(int index) {
+    return red[index];
+  }
+
+  /**
+   * Method used to get the green channel of the floss color at the given index.
+   *
+   * @param index which is the index of the floss color in the palette.
+   * @return the green channel value.
+   */
+  public int getGreen(int index) {
+    return green[index];
+  }
+
+  /**
+   * Method used to get the blue channel of the floss color at the given index.
+   *
+   * @param index which is the index of the floss color in the palette.
+   * @return the blue channel value.
+   */
+  public int getBlue(int index) {
+    return blue[index];
+  }
+
+  /**
+   * Method used to get a copy of the color channels of the floss color at the
+   * given index.
+   *
+   * @param index which is the index of the floss color in the palette.
+   * @return an array containing the color channels.
+   */
+  public int[] getColor(int index) {
+    return new int[] { red[index], green[index], blue[index] };
+  }
+
+  /**
+   * Method used to find the index of the floss color with the given dmc code.
+   *
+   * @param dmcCode which is the dmc code of the floss color.
+   * @return the index of the floss color or -1 if the code is not present.
+   */
+  public int indexOfCode(int dmcCode) {
+    for (int i = 0; i < codes.length; i++) {
+      if (codes[i] == dmcCode) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Method used to find the index of the floss color with the given symbol.
+   *
+   * @param symbol which is the symbol of the floss color.
+   * @return the index of the floss color or -1 if the symbol is not present.
+   */
+  public int indexOfSymbol(char symbol) {
+    for (int i = 0; i < symbols.length; i++) {
+      if (symbols[i] == symbol) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Method used to find the index of the floss color closest to the given color
+   * using the red mean distance. When several floss colors are equally close the
+   * one with the lowest dmc code is returned.
+   *
+   * @param red   which is the red channel of the color.
+   * @param green which is the green channel of the color.
+   * @param blue  which is the blue channel of the color.
+   * @return the index of the closest floss color.
+   */
+  @Override
+  public int findClosest(int red, int green, int blue) {
+    int index = 0;
+    double closestDistance = distance(0, red, green, blue);
+    for (int i = 1; i < codes.length; i++) {
+      double newDistance = distance(i, red, green, blue);
+      if (newDistance < closestDistance) {
+        closestDistance = newDistance;
+        index = i;
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Method used to find the index of the floss color closest to the given color
+   * among the given floss colors of the palette.
+   *
+   * @param red     which is the red channel of the color.
+   * @param green   which is the green channel of the color.
+   * @param blue    which is the blue channel of the color.
+   * @param indices which are the indices of the floss colors to search in
+   *                ascending order.
+   * @return the index of the closest floss color.
+   */
+  public int findClosest(int red, int green, int blue, int[] indices) {
+    if (null == indices || indices.length == 0) {
+      throw new IllegalArgumentException("Color palette is invalid.");
+    }
+    int index = indices[0];
+    double closestDistance = distance(index, red, green, blue);
+    for (int i = 1; i < indices.length; i++) {
+      double newDistance = distance(indices[i], red, green, blue);
+      if (newDistance < closestDistance) {
+        closestDistance = newDistance;
+        index = indices[i];
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Method used to calculate the red mean distance between the given color and
+   * the floss color at the given index.
+   *
+   * @param index which is the index of the floss color in the palette.
+   * @param red   which is the red channel of the color.
+   * @param green which is the green channel of the color.
+   * @param blue  which is the blue channel of the color.
+   * @return the distance between the colors.
+   */
+  public double distance(int index, int red, int green, int blue) {
+    double redMean = (red + this.red[index]) / 2.0;
+    double redDistance = (2 + redMean / 256) * Math.abs(red - this.red[index]);
+    int greenDifference = green - this.green[index];
+    int blueDifference = blue - this.blue[index];
+    double greenDistance = (double) (greenDifference * greenDifference) * 4;
+    double blueDistance = (2 + (255 - redMean) / 256) * (blueDifference * blueDifference);
+    return Math.sqrt(redDistance + greenDistance + blueDistance);
+  }
+
+  /**
+   * Method used to calculate a lower bound of the red mean distance, before the
+   * square root is taken, between the floss color at the given index and any
+   * color inside the given box.
+   *
+   * @param index    which is the index of the floss color in the palette.
+   * @param redMin   which is the smallest red channel of the box.
+   * @param redMax   which is the largest red channel of the box.
+   * @param greenMin which is the smallest green channel of the box.
+   * @param greenMax which is the largest green channel of the box.
+   * @param blueMin  which is the smallest blue channel of the box.
+   * @param blueMax  which is the largest blue channel of the box.
+   * @return the lower bound of the squared distance.
+   */
+  double lowerBound(int index, int redMin, int redMax, int greenMin, int greenMax,
+      int blueMin, int blueMax) {
+    return lowerBound(red[index], green[index], blue[index], redMin, redMax, greenMin,
+        greenMax, blueMin, blueMax);
+  }
+
+  /**
+   * Method used to calculate a lower bound of the red mean distance, before the
+   * square root is taken, between the given color and any color inside the
+   * given box.
+   *
+   * @param red      which is the red channel of the color.
+   * @param green    which is the green channel of the color.
+   * @param blue     which is the blue channel of the color.
+   * @param redMin   which is the smallest red channel of the box.
+   * @param redMax   which is the largest red channel of the box.
+   * @param greenMin which is the smallest green channel of the box.
+   * @param greenMax which is the largest green channel of the box.
+   * @param blueMin  which is the smallest blue channel of the box.
+   * @param blueMax  which is the largest blue channel of the box.
+   * @return the lower bound of the squared distance.
+   */
+  static double lowerBound(int red, int green, int blue, int redMin, int redMax,
+      int greenMin, int greenMax, int blueMin, int blueMax) {
+    int redDifference = gap(red, redMin, redMax);
+    int greenDifference = gap(green, greenMin, greenMax);
+    int blueDifference = gap(blue, blueMin, blueMax);
+    double redWeight = 2 + (redMin + red) / 512.0;
+    double blueWeight = 2 + (255 - (redMax + red) / 2.0) / 256;
+    return redWeight * redDifference + 4.0 * greenDifference * greenDifference
+        + blueWeight * blueDifference * blueDifference;
+  }
+
+  /**
+   * Method used to calculate an upper bound of the red mean distance, before the
+   * square root is taken, between the floss color at the given index and any
+   * color inside the given box.
+   *
+   * @param index    which is the index of the floss color in the palette.
+   * @param redMin   which is the smallest red channel of the box.
+   * @param redMax   which is the largest red channel of the box.
+   * @param greenMin which is the smallest green channel of the box.
+   * @param greenMax which is the largest green channel of the box.
+   * @param blueMin  which is the smallest blue channel of the box.
+   * @param blueMax  which is the largest blue channel of the box.
+   * @return the upper bound of the squared distance.
+   */
+  double upperBound(int index, int redMin, int redMax, int greenMin, int greenMax,
+      int blueMin, int blueMax) {
+    int redDifference = Math.max(Math.abs(red[index] - redMin), Math.abs(red[index] - redMax));
+    int greenDifference = Math.max(Math.abs(green[index] - greenMin),
+        Math.abs(green[index] - greenMax));
+    int blueDifference = Math.max(Math.abs(blue[index] - blueMin),
+        Math.abs(blue[index] - blueMax));
+    double redWeight = 2 + (redMax + red[index]) / 512.0;
+    double blueWeight = 2 + (255 - (redMin + red[index]) / 2.0) / 256;
+    return redWeight * redDifference + 4.0 * greenDifference * greenDifference
+        + blueWeight * blueDifference * blueDifference;
+  }
+
+  private static int gap(int value, int min, int max) {
+    if (value < min) {
+      return min - value;
+    }
+    return value > max ? value - max : 0;
+  }
+
+  /**
+   * Method used to retrieve the lookup table of the palette. The table is built
+   * the first time it is requested and then shared by every caller.
+   *
+   * @return the {@link FlossLookupTable} of the palette.
+   */
+  public FlossLookupTable getLookupTable() {
+    FlossLookupTable table = lookupTable;
+    if (null == table) {
+      synchronized (this) {
+        table = lookupTable;
+        if (null == table) {
+          table = new FlossLookupTable(this);
+          lookupTable = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Method used to retrieve the matcher of the palette for a color difference.
+   * The redmean difference uses the lookup table of the palette and the
+   * perceptual differences use a {@link LabFlossMatcher} which is built the
+   * first time it is requested and then shared by every caller.
+   *
+   * @param metric which is the color difference to be used.
+   * @return the {@link FlossMatcher} of the palette for the color difference.
+   */
+  public FlossMatcher getMatcher(FlossMetric metric) {
+    if (null == metric) {
+      throw new IllegalArgumentException("Invalid color matching mode.");
+    }
+    if (metric == FlossMetric.REDMEAN) {
+      return getLookupTable();
+    }
+    synchronized (matchers) {
+      return matchers.computeIfAbsent(metric, key -> new LabFlossMatcher(this, key));
+    }
+  }
+
+  /**
+   * Method used to retrieve the available floss colors.
+   *
+   * @return a map containing the symbols as keys and their corresponding colors
+   *         as values.
+   */
+  public Map<Character, int[]> getAvailableFloss() {
+    Map<Character, int[]> flossColors = new HashMap<>();
+    for (int i = 0; i < codes.length; i++) {
+      flossColors.put(symbols[i], getColor(i));
+    }
+    return flossColors;
+  }
+}
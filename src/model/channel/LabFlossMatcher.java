@@ -0,0 +1,267 @@
+package model.channel;
+
+/**
+ * Implementation of {@link FlossMatcher} which finds the closest floss color
+ * of a color by its perceptual difference in CIELAB space. The CIELAB
+ * coordinates of the palette are computed once when the matcher is created and
+ * the conversion of the channels of a color to linear light is looked up from a
+ * table. The palette is ordered by lightness so that a search only visits the
+ * floss colors whose difference in lightness alone does not already exceed the
+ * closest difference found.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public final class LabFlossMatcher implements FlossMatcher {
+
+  private static final double[] LINEAR = new double[256];
+  private static final double EPSILON = 216.0 / 24389.0;
+  private static final double KAPPA = 24389.0 / 27.0;
+  private static final double WHITE_X = 0.95047;
+  private static final double WHITE_Y = 1.0;
+  private static final double WHITE_Z = 1.08883;
+  private static final double POW25_7 = Math.pow(25, 7);
+  private static final double MAX_LIGHTNESS_WEIGHT = 1 + 0.015 * 2500 / Math.sqrt(2520);
+
+  static {
+    for (int i = 0; i < LINEAR.length; i++) {
+      double value = i / 255.0;
+      LINEAR[i] = value <= 0.04045 ? value / 12.92 : Math.pow((value + 0.055) / 1.055, 2.4);
+    }
+  }
+
+  private final FlossPalette palette;
+  private final FlossMetric metric;
+  private final double[] lightness;
+  private final double[] greenRed;
+  private final double[] blueYellow;
+  private final double[] chroma;
+  private final int[] order;
+  private final double[] orderedLightness;
+
+  /**
+   * Constructor for the {@link LabFlossMatcher} which takes the palette and the
+   * color difference to be used as input.
+   * 
+   * @param palette which represents the palette the floss colors are found in.
+   * @param metric  which is either {@link FlossMetric#CIE76} or
+   *                {@link FlossMetric#CIEDE2000}.
+   */
+  LabFlossMatcher(FlossPalette palette, FlossMetric metric) {
+    if (null == palette || (metric != FlossMetric.CIE76 && metric != FlossMetric.CIEDE2000)) {
+      throw new IllegalArgumentException("Invalid color matching mode.");
+    }
+    this.palette = palette;
+    this.metric = metric;
+    this.lightness = new double[palette.size()];
+    this.greenRed = new double[palette.size()];
+    this.blueYellow = new double[palette.size()];
+    this.chroma = new double[palette.size()];
+    double[] lab = new double[3];
+    for (int index = 0; index < palette.size(); index++) {
+      toLab(palette.getRed(index), palette.getGreen(index), palette.getBlue(index), lab);
+      lightness[index] = lab[0];
+      greenRed[index] = lab[1];
+      blueYellow[index] = lab[2];
+      chroma[index] = Math.sqrt(lab[1] * lab[1] + lab[2] * lab[2]);
+    }
+    this.order = new int[palette.size()];
+    this.orderedLightness = new double[palette.size()];
+    for (int index = 0; index < order.length; index++) {
+      int position = index;
+      while (position > 0 && lightness[order[position - 1]] > lightness[index]) {
+        order[position] = order[position - 1];
+        position--;
+      }
+      order[position] = index;
+    }
+    for (int position = 0; position < order.length; position++) {
+      orderedLightness[position] = lightness[order[position]];
+    }
+  }
+
+  /**
+   * Method used to convert a color from sRGB to CIELAB under the D65 white
+   * point.
+   * 
+   * @param red   which is the red channel of the color.
+   * @param green which is the green channel of the color.
+   * @param blue  which is the blue channel of the color.
+   * @param lab   which is an array of length three the L, a and b coordinates
+   *              are stored into.
+   */
+  public static void toLab(int red, int green, int blue, double[] lab) {
+    double r = LINEAR[red];
+    double g = LINEAR[green];
+    double b = LINEAR[blue];
+    double x = (0.4124564 * r + 0.3575761 * g + 0.1804375 * b) / WHITE_X;
+    double y = (0.2126729 * r + 0.7151522 * g + 0.0721750 * b) / WHITE_Y;
+    double z = (0.0193339 * r + 0.1191920 * g + 0.9503041 * b) / WHITE_Z;
+    double fx = pivot(x);
+    double fy = pivot(y);
+    double fz = pivot(z);
+    lab[0] = 116 * fy - 16;
+    lab[1] = 500 * (fx - fy);
+    lab[2] = 200 * (fy - fz);
+  }
+
+  private static double pivot(double value) {
+    return value > EPSILON ? Math.cbrt(value) : (KAPPA * value + 16) / 116;
+  }
+
+  /**
+   * Method used to get the palette of the matcher.
+   * 
+   * @return the {@link FlossPalette} of the matcher.
+   */
+  public FlossPalette getPalette() {
+    return palette;
+  }
+
+  /**
+   * Method used to get the color difference used by the matcher.
+   * 
+   * @return the {@link FlossMetric} of the matcher.
+   */
+  public FlossMetric getMetric() {
+    return metric;
+  }
+
+  @Override
+  public int findClosest(int red, int green, int blue) {
+    if (red < 0 || red > 255 || green < 0 || green > 255 || blue < 0 || blue > 255) {
+      throw new IllegalArgumentException("Invalid color.");
+    }
+    double[] lab = new double[3];
+    toLab(red, green, blue, lab);
+    double weight = metric == FlossMetric.CIE76 ? 1 : MAX_LIGHTNESS_WEIGHT;
+    int above = lowerPosition(lab[0]);
+    int below = above - 1;
+    int closest = -1;
+    double best = Double.MAX_VALUE;
+    while (below >= 0 || above < order.length) {
+      int position;
+      if (below < 0) {
+        position = above++;
+      } else if (above >= order.length) {
+        position = below--;
+      } else if (lab[0] - orderedLightness[below] < orderedLightness[above] - lab[0]) {
+        position = below--;
+      } else {
+        position = above++;
+      }
+      double lightnessBound = (orderedLightness[position] - lab[0]) / weight;
+      if (lightnessBound * lightnessBound > best) {
+        break;
+      }
+      int index = order[position];
+      double difference = metric == FlossMetric.CIE76 ? cie76(index, lab)
+          : ciede2000(index, lab);
+      if (difference < best || (difference == best && index < closest)) {
+        best = difference;
+        closest = index;
+      }
+    }
+    return closest;
+  }
+
+  private int lowerPosition(double value) {
+    int low = 0;
+    int high = orderedLightness.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (orderedLightness[middle] < value) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private double cie76(int index, double[] lab) {
+    double dl = lab[0] - lightness[index];
+    double da = lab[1] - greenRed[index];
+    double db = lab[2] - blueYellow[index];
+    return dl * dl + da * da + db * db;
+  }
+
+  /**
+   * Method used to compute the squared CIEDE2000 difference between a floss
+   * color of the palette and a CIELAB color, with unit weighting factors.
+   */
+  private double ciede2000(int index, double[] lab) {
+    double l1 = lightness[index];
+    double a1 = greenRed[index];
+    double b1 = blueYellow[index];
+    double l2 = lab[0];
+    double a2 = lab[1];
+    double b2 = lab[2];
+    double c2 = Math.sqrt(a2 * a2 + b2 * b2);
+    double meanC = (chroma[index] + c2) / 2;
+    double meanC7 = pow7(meanC);
+    double g = 0.5 * (1 - Math.sqrt(meanC7 / (meanC7 + POW25_7)));
+    double a1p = (1 + g) * a1;
+    double a2p = (1 + g) * a2;
+    double c1p = Math.sqrt(a1p * a1p + b1 * b1);
+    double c2p = Math.sqrt(a2p * a2p + b2 * b2);
+    double h1p = hueAngle(b1, a1p);
+    double h2p = hueAngle(b2, a2p);
+
+    double deltaL = l2 - l1;
+    double deltaC = c2p - c1p;
+    double deltaHue = 0;
+    if (c1p * c2p != 0) {
+      deltaHue = h2p - h1p;
+      if (deltaHue > 180) {
+        deltaHue -= 360;
+      } else if (deltaHue < -180) {
+        deltaHue += 360;
+      }
+    }
+    double deltaH = 2 * Math.sqrt(c1p * c2p) * Math.sin(Math.toRadians(deltaHue / 2));
+
+    double meanL = (l1 + l2) / 2;
+    double meanCp = (c1p + c2p) / 2;
+    double meanH = h1p + h2p;
+    if (c1p * c2p != 0) {
+      if (Math.abs(h1p - h2p) <= 180) {
+        meanH = (h1p + h2p) / 2;
+      } else if (h1p + h2p < 360) {
+        meanH = (h1p + h2p + 360) / 2;
+      } else {
+        meanH = (h1p + h2p - 360) / 2;
+      }
+    }
+    double t = 1 - 0.17 * Math.cos(Math.toRadians(meanH - 30))
+        + 0.24 * Math.cos(Math.toRadians(2 * meanH))
+        + 0.32 * Math.cos(Math.toRadians(3 * meanH + 6))
+        - 0.20 * Math.cos(Math.toRadians(4 * meanH - 63));
+    double meanL50 = (meanL - 50) * (meanL - 50);
+    double sl = 1 + 0.015 * meanL50 / Math.sqrt(20 + meanL50);
+    double sc = 1 + 0.045 * meanCp;
+    double sh = 1 + 0.015 * meanCp * t;
+    double meanCp7 = pow7(meanCp);
+    double rc = 2 * Math.sqrt(meanCp7 / (meanCp7 + POW25_7));
+    double theta = 30 * Math.exp(-((meanH - 275) / 25) * ((meanH - 275) / 25));
+    double rt = -Math.sin(Math.toRadians(2 * theta)) * rc;
+
+    double termL = deltaL / sl;
+    double termC = deltaC / sc;
+    double termH = deltaH / sh;
+    return termL * termL + termC * termC + termH * termH + rt * termC * termH;
+  }
+
+  private static double pow7(double value) {
+    double square = value * value;
+    return square * square * square * value;
+  }
+
+  private static double hueAngle(double b, double a) {
+    if (a == 0 && b == 0) {
+      return 0;
+    }
+    double hue = Math.toDegrees(Math.atan2(b, a));
+    return hue < 0 ? hue + 360 : hue;
+  }
+}
@@ -0,0 +1,158 @@
+package model.image;
+
+import model.utils.ImageParallelism;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Class which keeps a copy of a {@link SharedTiledImage} compressed in the
+ * memory of the program. Every tile is compressed on its own with the deflate
+ * method, after its red, green and blue channels have been split and every
+ * channel has been replaced with its difference from the pixel on the left. The
+ * compression is lossless, so the image which is restored has exactly the
+ * pixels of the image which was compressed. The tiles are compressed and
+ * restored in parallel.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public final class CompressedImage {
+
+  private final int width;
+  private final int height;
+  private final int tileSize;
+  private final int tileRows;
+  private final int tileColumns;
+  private final byte[][] tiles;
+
+  private CompressedImage(SharedTiledImage image) {
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    this.tileSize = image.getTileSize();
+    this.tileRows = image.getTileRows();
+    this.tileColumns = image.getTileColumns();
+    this.tiles = new byte[tileRows * tileColumns][];
+  }
+
+  /**
+   * Method used to compress an image.
+   *
+   * @param image which is the image to be compressed.
+   * @return the {@link CompressedImage} of the image.
+   */
+  public static CompressedImage of(SharedTiledImage image) {
+    if (null == image) {
+      throw new IllegalArgumentException("Image is invalid.");
+    }
+    CompressedImage compressed = new CompressedImage(image);
+    int tilePixels = compressed.tileSize * compressed.tileSize;
+    ImageParallelism.forEach(compressed.tileRows, tileRow -> {
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      int[] tile = new int[tilePixels];
+      byte[] planes = new byte[3 * tilePixels];
+      byte[] buffer = new byte[planes.length];
+      ByteArrayOutputStream output = new ByteArrayOutputStream(planes.length);
+      try {
+        for (int tileColumn = 0; tileColumn < compressed.tileColumns; tileColumn++) {
+          image.readTile(tileRow, tileColumn, tile);
+          compressed.toPlanes(tile, planes);
+          deflater.reset();
+          deflater.setInput(planes);
+          deflater.finish();
+          output.reset();
+          while (!deflater.finished()) {
+            output.write(buffer, 0, deflater.deflate(buffer));
+          }
+          compressed.tiles[tileRow * compressed.tileColumns + tileColumn] = output.toByteArray();
+        }
+      } finally {
+        deflater.end();
+      }
+    });
+    return compressed;
+  }
+
+  private void toPlanes(int[] tile, byte[] planes) {
+    int tilePixels = tileSize * tileSize;
+    for (int i = 0; i < tileSize; i++) {
+      int previous = 0;
+      for (int index = i * tileSize; index < (i + 1) * tileSize; index++) {
+        int rgb = tile[index];
+        planes[index] = (byte) (RasterImage.red(rgb) - RasterImage.red(previous));
+        planes[tilePixels + index] = (byte) (RasterImage.green(rgb)
+            - RasterImage.green(previous));
+        planes[2 * tilePixels + index] = (byte) (RasterImage.blue(rgb)
+            - RasterImage.blue(previous));
+        previous = rgb;
+      }
+    }
+  }
+
+  private void toTile(byte[] planes, int[] tile) {
+    int tilePixels = tileSize * tileSize;
+    for (int i = 0; i < tileSize; i++) {
+      int red = 0;
+      int green = 0;
+      int blue = 0;
+      for (int index = i * tileSize; index < (i + 1) * tileSize; index++) {
+        red = (red + planes[index]) & 0xFF;
+        green = (green + planes[tilePixels + index]) & 0xFF;
+        blue = (blue + planes[2 * tilePixels + index]) & 0xFF;
+        tile[index] = red << 16 | green << 8 | blue;
+      }
+    }
+  }
+
+  /**
+   * Method used to restore the image. Every call creates a new image, which can
+   * be changed without changing the compressed copy.
+   *
+   * @return a new {@link SharedTiledImage} with the pixels of the image.
+   */
+  public SharedTiledImage toImage() {
+    SharedTiledImage image = new SharedTiledImage(width, height);
+    int tilePixels = tileSize * tileSize;
+    ImageParallelism.forEach(tileRows, tileRow -> {
+      Inflater inflater = new Inflater();
+      int[] tile = new int[tilePixels];
+      byte[] planes = new byte[3 * tilePixels];
+      try {
+        for (int tileColumn = 0; tileColumn < tileColumns; tileColumn++) {
+          inflater.reset();
+          inflater.setInput(tiles[tileRow * tileColumns + tileColumn]);
+          for (int length = 0; length < planes.length;) {
+            int count = inflater.inflate(planes, length, planes.length - length);
+            if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+              throw new IllegalStateException("Invalid compressed image.");
+            }
+            length += count;
+          }
+          toTile(planes, tile);
+          image.writeTile(tileRow, tileColumn, tile);
+        }
+      } catch (DataFormatException e) {
+        throw new IllegalStateException("Invalid compressed image.");
+      } finally {
+        inflater.end();
+      }
+    });
+    return image;
+  }
+
+  /**
+   * Method used to get the number of bytes used by the compressed pixels of the
+   * image.
+   *
+   * @return the size of the compressed image in bytes.
+   */
+  public long getSize() {
+    long size = 0;
+    for (byte[] tile : tiles) {
+      size += tile.length;
+    }
+    return size;
+  }
+}
@@ -30,4 +30,17 @@ public interface Image {
    */
   public int getHeight();
 
+  /**
+   * Method to get the color of a pixel of the {@link Image} packed into a single
+   * integer as 0xRRGGBB.
+   * 
+   * @param row    which represents the row of the pixel.
+   * @param column which represents the column of the pixel.
+   * @return the packed color of the pixel.
+   */
+  public default int getRGB(int row, int column) {
+    int[] color = getImage()[row][column];
+    return (color[0] << 16) | (color[1] << 8) | color[2];
+  }
+
 }
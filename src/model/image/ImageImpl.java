@@ -29,8 +29,8 @@ public class ImageImpl implements Image {
     }
     try {
       this.image = ImageUtilities.readImage(filename);
-      this.width = ImageUtilities.getWidth(filename);
-      this.height = ImageUtilities.getHeight(filename);
+      this.width = this.image[0].length;
+      this.height = this.image.length;
     } catch (IOException e) {
       throw new IOException("Unable to read file.");
     }
@@ -0,0 +1,505 @@
+package model.image;
+
+import model.utils.ImageUtilities;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Vector;
+
+/**
+ * Implementation class for the {@link TiledImage} interface which stores the
+ * pixels of the image in a memory-mapped temporary file instead of the memory
+ * of the program. The pixels are grouped into tiles of {@link #TILE_SIZE} by
+ * {@link #TILE_SIZE} pixels, and every row of tiles is mapped separately so
+ * that images of any height can be stored. The temporary file stays open while
+ * it is mapped and is deleted when the image is no longer reachable.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class MappedImage implements TiledImage {
+
+  /** The width and height of the tiles of the image in pixels. */
+  public static final int TILE_SIZE = 256;
+
+  private static final int TILE_PIXELS = TILE_SIZE * TILE_SIZE;
+  private static final int BAND_PIXELS = 1 << 22;
+  private static final int BYTES_PER_PIXEL = 16;
+  private static final int[] MASKS = { 0xFF0000, 0xFF00, 0xFF };
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private final int width;
+  private final int height;
+  private final int tileRows;
+  private final int tileColumns;
+  private final IntBuffer[] bands;
+  private BufferedImage preview;
+
+  /**
+   * Constructor for the {@link MappedImage} which creates a black image of the
+   * given size in a new temporary file.
+   *
+   * @param width  which represents the width of the image.
+   * @param height which represents the height of the image.
+   * @throws IOException if unable to create the temporary file.
+   */
+  public MappedImage(int width, int height) throws IOException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid image dimensions.");
+    }
+    this.width = width;
+    this.height = height;
+    this.tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+    this.tileColumns = (width + TILE_SIZE - 1) / TILE_SIZE;
+    long bandBytes = (long) tileColumns * TILE_PIXELS * Integer.BYTES;
+    if (bandBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid image dimensions.");
+    }
+    this.bands = new IntBuffer[tileRows];
+    Path file = Files.createTempFile("image", ".tiles");
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+          StandardOpenOption.DELETE_ON_CLOSE);
+    } catch (IOException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+    try {
+      for (int band = 0; band < tileRows; band++) {
+        bands[band] = channel.map(FileChannel.MapMode.READ_WRITE, band * bandBytes, bandBytes)
+            .order(ByteOrder.nativeOrder()).asIntBuffer();
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    CLEANER.register(this, new ChannelCloser(channel));
+  }
+
+  /**
+   * Class which closes the channel of the temporary file of a
+   * {@link MappedImage} once the image is no longer reachable, which deletes
+   * the file.
+   */
+  private static class ChannelCloser implements Runnable {
+
+    private final FileChannel channel;
+
+    ChannelCloser(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public void run() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // the image is already gone, so there is nobody to report the error to
+      }
+    }
+  }
+
+  /**
+   * Method used to check if an image of the given size is too large to be kept
+   * in the memory of the program and has to be stored as a {@link MappedImage}.
+   * The image, its original copy and the result of an operation are taken into
+   * account.
+   *
+   * @param width  which represents the width of the image.
+   * @param height which represents the height of the image.
+   * @return true if the image is to be stored as a {@link MappedImage}.
+   */
+  public static boolean isNeeded(int width, int height) {
+    return (long) width * height * BYTES_PER_PIXEL > Runtime.getRuntime().maxMemory();
+  }
+
+  /**
+   * Method used to read an image file into a {@link MappedImage}. The file is
+   * decoded by a single reader which hands over one band of rows at a time, so
+   * that the whole image is never held in the memory of the program.
+   *
+   * @param filename which is the location of the image file.
+   * @return the {@link MappedImage} of the file.
+   * @throws IOException if unable to read the file.
+   */
+  public static MappedImage read(String filename) throws IOException {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Filename cannot be empty.");
+    }
+    try {
+      int width = ImageUtilities.getWidth(filename);
+      int height = ImageUtilities.getHeight(filename);
+      MappedImage mappedImage = new MappedImage(width, height);
+      long bandPixels = Math.max(BAND_PIXELS, Runtime.getRuntime().maxMemory() / 32);
+      int bandRows = (int) Math.max(TILE_SIZE,
+          Math.min(height, bandPixels / width) / TILE_SIZE * TILE_SIZE);
+      ImageUtilities.read(filename, bandRows, mappedImage::writeRows);
+      return mappedImage;
+    } catch (IOException e) {
+      throw new IOException("Unable to read file.");
+    }
+  }
+
+  @Override
+  public int getTileSize() {
+    return TILE_SIZE;
+  }
+
+  @Override
+  public int getTileRows() {
+    return tileRows;
+  }
+
+  @Override
+  public int getTileColumns() {
+    return tileColumns;
+  }
+
+  @Override
+  public int getBandRows() {
+    return Math.max(1, BAND_PIXELS / width / TILE_SIZE) * TILE_SIZE;
+  }
+
+  @Override
+  public void readTile(int tileRow, int tileColumn, int[] pixels) {
+    checkTile(tileRow, tileColumn, pixels);
+    IntBuffer band = bands[tileRow].duplicate();
+    band.position(tileColumn * TILE_PIXELS);
+    band.get(pixels, 0, TILE_PIXELS);
+    int columns = Math.min(TILE_SIZE, width - tileColumn * TILE_SIZE);
+    int rows = Math.min(TILE_SIZE, height - tileRow * TILE_SIZE);
+    for (int i = 0; i < TILE_SIZE; i++) {
+      for (int j = i < rows ? columns : 0; j < TILE_SIZE; j++) {
+        pixels[i * TILE_SIZE + j] = 0;
+      }
+    }
+  }
+
+  @Override
+  public void writeTile(int tileRow, int tileColumn, int[] pixels) {
+    checkTile(tileRow, tileColumn, pixels);
+    IntBuffer band = bands[tileRow].duplicate();
+    band.position(tileColumn * TILE_PIXELS);
+    band.put(pixels, 0, TILE_PIXELS);
+    preview = null;
+  }
+
+  private void checkTile(int tileRow, int tileColumn, int[] pixels) {
+    if (tileRow < 0 || tileRow >= tileRows || tileColumn < 0 || tileColumn >= tileColumns) {
+      throw new IllegalArgumentException("Invalid tile.");
+    }
+    if (null == pixels || pixels.length < TILE_PIXELS) {
+      throw new IllegalArgumentException("Invalid image pixels.");
+    }
+  }
+
+  @Override
+  public void readRows(int row, int rows, int[] pixels) {
+    checkRows(row, rows, pixels);
+    for (int i = 0; i < rows; i++) {
+      IntBuffer band = bands[(row + i) / TILE_SIZE].duplicate();
+      int offset = (row + i) % TILE_SIZE * TILE_SIZE;
+      for (int tile = 0; tile < tileColumns; tile++) {
+        band.position(tile * TILE_PIXELS + offset);
+        band.get(pixels, i * width + tile * TILE_SIZE,
+            Math.min(TILE_SIZE, width - tile * TILE_SIZE));
+      }
+    }
+  }
+
+  @Override
+  public void writeRows(int row, int rows, int[] pixels) {
+    checkRows(row, rows, pixels);
+    for (int i = 0; i < rows; i++) {
+      IntBuffer band = bands[(row + i) / TILE_SIZE].duplicate();
+      int offset = (row + i) % TILE_SIZE * TILE_SIZE;
+      for (int tile = 0; tile < tileColumns; tile++) {
+        band.position(tile * TILE_PIXELS + offset);
+        band.put(pixels, i * width + tile * TILE_SIZE,
+            Math.min(TILE_SIZE, width - tile * TILE_SIZE));
+      }
+    }
+    preview = null;
+  }
+
+  private void checkRows(int row, int rows, int[] pixels) {
+    if (row < 0 || rows < 0 || row + rows > height) {
+      throw new IllegalArgumentException("Invalid rows.");
+    }
+    if (null == pixels || pixels.length < (long) rows * width) {
+      throw new IllegalArgumentException("Invalid image pixels.");
+    }
+  }
+
+  @Override
+  public TiledImage create(int width, int height) {
+    try {
+      return new MappedImage(width, height);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public TiledImage copy() {
+    MappedImage copy = (MappedImage) create(width, height);
+    for (int band = 0; band < tileRows; band++) {
+      copy.bands[band].duplicate().put(bands[band].duplicate());
+    }
+    return copy;
+  }
+
+  /**
+   * Method used to set the color of a pixel.
+   *
+   * @param row    which is the row of the pixel.
+   * @param column which is the column of the pixel.
+   * @param rgb    which is the packed 0xRRGGBB value of the color.
+   */
+  public void setRGB(int row, int column, int rgb) {
+    bands[row / TILE_SIZE].put(getIndex(row, column), rgb & 0xFFFFFF);
+    preview = null;
+  }
+
+  @Override
+  public int getRGB(int row, int column) {
+    return bands[row / TILE_SIZE].get(getIndex(row, column));
+  }
+
+  private int getIndex(int row, int column) {
+    if (row < 0 || row >= height || column < 0 || column >= width) {
+      throw new IllegalArgumentException("Invalid pixel.");
+    }
+    return column / TILE_SIZE * TILE_PIXELS + row % TILE_SIZE * TILE_SIZE + column % TILE_SIZE;
+  }
+
+  /**
+   * Method used to create a smaller {@link BufferedImage} of the image which
+   * can be displayed. Every pixel of the preview is a pixel of the image taken
+   * at a fixed step. The preview is created again only after the image has
+   * changed or a different size is requested.
+   *
+   * @param size which is the largest width and height of the preview.
+   * @return a {@link BufferedImage} of type {@link BufferedImage#TYPE_INT_RGB}.
+   */
+  public BufferedImage getPreview(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Invalid preview size.");
+    }
+    int step = (Math.max(width, height) + size - 1) / size;
+    BufferedImage cached = preview;
+    if (null != cached && cached.getWidth() == (width + step - 1) / step) {
+      return cached;
+    }
+    int previewWidth = (width + step - 1) / step;
+    int previewHeight = (height + step - 1) / step;
+    int[] pixels = new int[previewWidth * previewHeight];
+    for (int i = 0; i < previewHeight; i++) {
+      for (int j = 0; j < previewWidth; j++) {
+        pixels[i * previewWidth + j] = getRGB(i * step, j * step);
+      }
+    }
+    preview = new RasterImage(previewWidth, previewHeight, pixels).toBufferedImage();
+    return preview;
+  }
+
+  /**
+   * Method used to get a {@link RenderedImage} of the image which can be
+   * written by the image writers. The pixels are read from the image when the
+   * writer requests them, one tile or band of rows at a time.
+   *
+   * @return the {@link RenderedImage} of the image.
+   */
+  public RenderedImage toRenderedImage() {
+    return new MappedRenderedImage();
+  }
+
+  /**
+   * Method to get the {@link Image} in a matrix format. The matrix is created
+   * every time it is requested, so it is only possible for images which fit in
+   * the memory of the program.
+   *
+   * @return a matrix which is the {@link Image}.
+   */
+  @Override
+  public int[][][] getImage() {
+    if ((long) width * height > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Image is too large for a matrix.");
+    }
+    int[][][] matrix = new int[height][width][];
+    int[] row = new int[width];
+    for (int i = 0; i < height; i++) {
+      readRows(i, 1, row);
+      for (int j = 0; j < width; j++) {
+        int rgb = row[j];
+        matrix[i][j] = new int[] { RasterImage.red(rgb), RasterImage.green(rgb),
+            RasterImage.blue(rgb) };
+      }
+    }
+    return matrix;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Class which represents the {@link MappedImage} as a {@link RenderedImage}
+   * made of the tiles of the image.
+   */
+  private class MappedRenderedImage implements RenderedImage {
+
+    private final ColorModel colorModel = new DirectColorModel(24, MASKS[0], MASKS[1],
+        MASKS[2]);
+
+    @Override
+    public Vector<RenderedImage> getSources() {
+      return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+      return java.awt.Image.UndefinedProperty;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+      return null;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+      return colorModel;
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+      return colorModel.createCompatibleSampleModel(TILE_SIZE, TILE_SIZE);
+    }
+
+    @Override
+    public int getWidth() {
+      return width;
+    }
+
+    @Override
+    public int getHeight() {
+      return height;
+    }
+
+    @Override
+    public int getMinX() {
+      return 0;
+    }
+
+    @Override
+    public int getMinY() {
+      return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+      return tileColumns;
+    }
+
+    @Override
+    public int getNumYTiles() {
+      return tileRows;
+    }
+
+    @Override
+    public int getMinTileX() {
+      return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+      return 0;
+    }
+
+    @Override
+    public int getTileWidth() {
+      return TILE_SIZE;
+    }
+
+    @Override
+    public int getTileHeight() {
+      return TILE_SIZE;
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+      return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+      return 0;
+    }
+
+    @Override
+    public Raster getTile(int tileX, int tileY) {
+      int[] pixels = new int[TILE_PIXELS];
+      readTile(tileY, tileX, pixels);
+      return Raster.createPackedRaster(new DataBufferInt(pixels, pixels.length), TILE_SIZE,
+          TILE_SIZE, TILE_SIZE, MASKS, new Point(tileX * TILE_SIZE, tileY * TILE_SIZE));
+    }
+
+    @Override
+    public Raster getData() {
+      return getData(new Rectangle(width, height));
+    }
+
+    @Override
+    public Raster getData(Rectangle rect) {
+      Rectangle bounds = rect.intersection(new Rectangle(width, height));
+      if (bounds.isEmpty()) {
+        throw new IllegalArgumentException("Invalid image region.");
+      }
+      int[] rows = new int[width * bounds.height];
+      readRows(bounds.y, bounds.height, rows);
+      int[] pixels = rows;
+      if (bounds.width != width) {
+        pixels = new int[bounds.width * bounds.height];
+        for (int i = 0; i < bounds.height; i++) {
+          System.arraycopy(rows, i * width + bounds.x, pixels, i * bounds.width, bounds.width);
+        }
+      }
+      return Raster.createPackedRaster(new DataBufferInt(pixels, pixels.length), bounds.width,
+          bounds.height, bounds.width, MASKS, new Point(bounds.x, bounds.y));
+    }
+
+    @Override
+    public WritableRaster copyData(WritableRaster raster) {
+      if (null == raster) {
+        return (WritableRaster) getData();
+      }
+      raster.setRect(getData(raster.getBounds()));
+      return raster;
+    }
+  }
+}
@@ -0,0 +1,294 @@
+package model.image;
+
+import model.utils.ImageUtilities;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Implementation class for the {@link Image} interface which stores the pixels
+ * of the image in a single array in row-major order. Every pixel is packed into
+ * one integer as 0xRRGGBB, which needs 4 bytes of memory per pixel instead of an
+ * array object per pixel. The matrix representation of the image is only
+ * created when it is requested.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class RasterImage implements Image {
+
+  private final int[] pixels;
+  private final int width;
+  private final int height;
+  private int[][][] matrix;
+  private BufferedImage bufferedImage;
+
+  /**
+   * Constructor for the {@link RasterImage} which creates a black image of the
+   * given size.
+   *
+   * @param width  which represents the width of the image.
+   * @param height which represents the height of the image.
+   */
+  public RasterImage(int width, int height) {
+    this(width, height, new int[checkSize(width, height)]);
+  }
+
+  /**
+   * Constructor for the {@link RasterImage} which takes the packed pixels of the
+   * image as input. The array is used by the image without being copied.
+   *
+   * @param width  which represents the width of the image.
+   * @param height which represents the height of the image.
+   * @param pixels which is an array containing the packed 0xRRGGBB value of
+   *               every pixel in row-major order.
+   */
+  public RasterImage(int width, int height, int[] pixels) {
+    if (null == pixels || pixels.length != checkSize(width, height)) {
+      throw new IllegalArgumentException("Invalid image pixels.");
+    }
+    this.pixels = pixels;
+    this.width = width;
+    this.height = height;
+    this.matrix = null;
+    this.bufferedImage = null;
+  }
+
+  /**
+   * Constructor for the {@link RasterImage} which copies the pixels of a
+   * {@link BufferedImage}.
+   *
+   * @param image which is the image to be copied.
+   */
+  public RasterImage(BufferedImage image) {
+    this(image.getWidth(), image.getHeight(), ImageUtilities.getPixels(image));
+  }
+
+  /**
+   * Method used to read an image file into a {@link RasterImage}.
+   *
+   * @param filename which is the location of the image file.
+   * @return the {@link RasterImage} of the file.
+   * @throws IOException if unable to read the file.
+   */
+  public static RasterImage read(String filename) throws IOException {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Filename cannot be empty.");
+    }
+    try {
+      return new RasterImage(ImageUtilities.read(filename));
+    } catch (IOException e) {
+      throw new IOException("Unable to read file.");
+    }
+  }
+
+  /**
+   * Method used to read a part of an image file at a reduced size into a
+   * {@link RasterImage}. Only the pixels which are needed are decoded.
+   *
+   * @param filename which is the location of the image file.
+   * @param width    which is the minimum width of the image, or 0 for no limit.
+   * @param height   which is the minimum height of the image, or 0 for no limit.
+   * @param region   which is the region of the file to read, or null for the
+   *                 whole image.
+   * @return the {@link RasterImage} of the file.
+   * @throws IOException if unable to read the file.
+   */
+  public static RasterImage read(String filename, int width, int height, Rectangle region)
+      throws IOException {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Filename cannot be empty.");
+    }
+    try {
+      return new RasterImage(ImageUtilities.read(filename, width, height, region));
+    } catch (IOException e) {
+      throw new IOException("Unable to read file.");
+    }
+  }
+
+  private static int checkSize(int width, int height) {
+    if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Invalid image dimensions.");
+    }
+    return width * height;
+  }
+
+  /**
+   * Method used to get a {@link RasterImage} with the pixels of an image. The
+   * image itself is returned if it already is a {@link RasterImage}.
+   *
+   * @param image which is the image to be converted.
+   * @return the {@link RasterImage} of the image.
+   */
+  public static RasterImage of(Image image) {
+    if (null == image) {
+      throw new IllegalArgumentException("Image is invalid.");
+    }
+    if (image instanceof RasterImage) {
+      return (RasterImage) image;
+    }
+    RasterImage raster = new RasterImage(image.getWidth(), image.getHeight());
+    if (image instanceof TiledImage) {
+      ((TiledImage) image).readRows(0, raster.height, raster.pixels);
+      return raster;
+    }
+    for (int i = 0; i < raster.height; i++) {
+      for (int j = 0; j < raster.width; j++) {
+        raster.pixels[i * raster.width + j] = image.getRGB(i, j);
+      }
+    }
+    return raster;
+  }
+
+  /**
+   * Method used to pack the color channels into a single RGB value. The
+   * channels are clamped to the range 0 to 255.
+   *
+   * @param red   which is the red channel of the color.
+   * @param green which is the green channel of the color.
+   * @param blue  which is the blue channel of the color.
+   * @return the packed 0xRRGGBB value.
+   */
+  public static int pack(int red, int green, int blue) {
+    return (clamp(red) << 16) | (clamp(green) << 8) | clamp(blue);
+  }
+
+  /**
+   * Method used to clamp a channel value to the range 0 to 255.
+   *
+   * @param value which is the value of the channel.
+   * @return the clamped value.
+   */
+  public static int clamp(int value) {
+    return value < 0 ? 0 : value > 255 ? 255 : value;
+  }
+
+  /**
+   * Method used to get the red channel of a packed RGB value.
+   *
+   * @param rgb which is the packed RGB value.
+   * @return the red channel.
+   */
+  public static int red(int rgb) {
+    return (rgb >> 16) & 0xFF;
+  }
+
+  /**
+   * Method used to get the green channel of a packed RGB value.
+   *
+   * @param rgb which is the packed RGB value.
+   * @return the green channel.
+   */
+  public static int green(int rgb) {
+    return (rgb >> 8) & 0xFF;
+  }
+
+  /**
+   * Method used to get the blue channel of a packed RGB value.
+   *
+   * @param rgb which is the packed RGB value.
+   * @return the blue channel.
+   */
+  public static int blue(int rgb) {
+    return rgb & 0xFF;
+  }
+
+  /**
+   * Method used to get the pixels of the image. The returned array is the
+   * storage of the image, so changes to it change the image.
+   *
+   * @return an array containing the packed 0xRRGGBB value of every pixel in
+   *         row-major order.
+   */
+  public int[] getPixels() {
+    matrix = null;
+    return pixels;
+  }
+
+  /**
+   * Method used to set the color of a pixel.
+   *
+   * @param row    which is the row of the pixel.
+   * @param column which is the column of the pixel.
+   * @param rgb    which is the packed 0xRRGGBB value of the color.
+   */
+  public void setRGB(int row, int column, int rgb) {
+    pixels[row * width + column] = rgb & 0xFFFFFF;
+    matrix = null;
+  }
+
+  /**
+   * Method used to create a copy of the image.
+   *
+   * @return a new {@link RasterImage} with the same pixels.
+   */
+  public RasterImage copy() {
+    return new RasterImage(width, height, Arrays.copyOf(pixels, pixels.length));
+  }
+
+  /**
+   * Method used to get a {@link BufferedImage} of the image. The buffered image
+   * shares the pixels of the image instead of copying them, so it is created
+   * once and always shows the current pixels of the image. Changes made to the
+   * buffered image change the image.
+   *
+   * @return a {@link BufferedImage} of type {@link BufferedImage#TYPE_INT_RGB}.
+   */
+  public BufferedImage toBufferedImage() {
+    BufferedImage output = bufferedImage;
+    if (null == output) {
+      DirectColorModel colorModel = new DirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
+      WritableRaster raster = Raster.createPackedRaster(
+          new DataBufferInt(pixels, pixels.length), width, height, width,
+          colorModel.getMasks(), null);
+      output = new BufferedImage(colorModel, raster, false, null);
+      bufferedImage = output;
+    }
+    return output;
+  }
+
+  @Override
+  public int getRGB(int row, int column) {
+    return pixels[row * width + column];
+  }
+
+  /**
+   * Method to get the {@link Image} in a matrix format. The matrix is created
+   * from the pixels the first time it is requested after the image has changed,
+   * and changes made to the matrix are not reflected in the image.
+   *
+   * @return a matrix which is the {@link Image}.
+   */
+  @Override
+  public int[][][] getImage() {
+    int[][][] view = matrix;
+    if (null == view) {
+      view = new int[height][width][];
+      for (int i = 0; i < height; i++) {
+        for (int j = 0; j < width; j++) {
+          int rgb = pixels[i * width + j];
+          view[i][j] = new int[] { red(rgb), green(rgb), blue(rgb) };
+        }
+      }
+      matrix = view;
+    }
+    return view;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+}
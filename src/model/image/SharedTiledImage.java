@@ -0,0 +1,278 @@
+package model.image;
+
+import java.util.Arrays;
+
+/**
+ * Implementation class for the {@link TiledImage} interface which keeps the
+ * tiles of the image in the memory of the program and shares them between
+ * copies of the image. A copy only takes a reference to every tile, and a tile
+ * is copied the first time it is written by an image which shares it, so the
+ * tiles which are not changed by an operation are stored only once. A tile
+ * which has never been written is black and does not use any memory.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class SharedTiledImage implements TiledImage {
+
+  /** The width and height of the tiles of the image in pixels. */
+  public static final int TILE_SIZE = 128;
+
+  private static final int TILE_PIXELS = TILE_SIZE * TILE_SIZE;
+  private static final int BAND_PIXELS = 1 << 20;
+
+  private final int width;
+  private final int height;
+  private final int tileRows;
+  private final int tileColumns;
+  private final int[][] tiles;
+  private final boolean[] owned;
+
+  /**
+   * Constructor for the {@link SharedTiledImage} which creates a black image of
+   * the given size.
+   *
+   * @param width  which represents the width of the image.
+   * @param height which represents the height of the image.
+   */
+  public SharedTiledImage(int width, int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid image dimensions.");
+    }
+    this.width = width;
+    this.height = height;
+    this.tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+    this.tileColumns = (width + TILE_SIZE - 1) / TILE_SIZE;
+    if ((long) tileRows * tileColumns > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Invalid image dimensions.");
+    }
+    this.tiles = new int[tileRows * tileColumns][];
+    this.owned = new boolean[tiles.length];
+  }
+
+  private SharedTiledImage(SharedTiledImage image) {
+    this.width = image.width;
+    this.height = image.height;
+    this.tileRows = image.tileRows;
+    this.tileColumns = image.tileColumns;
+    this.tiles = image.tiles.clone();
+    this.owned = new boolean[tiles.length];
+  }
+
+  /**
+   * Method used to get a {@link SharedTiledImage} with the pixels of an image.
+   * The image itself is returned if it already is a {@link SharedTiledImage}.
+   *
+   * @param image which is the image to be converted.
+   * @return the {@link SharedTiledImage} of the image.
+   */
+  public static SharedTiledImage of(Image image) {
+    if (null == image) {
+      throw new IllegalArgumentException("Image is invalid.");
+    }
+    if (image instanceof SharedTiledImage) {
+      return (SharedTiledImage) image;
+    }
+    SharedTiledImage tiledImage = new SharedTiledImage(image.getWidth(), image.getHeight());
+    if (image instanceof TiledImage) {
+      TiledImage source = (TiledImage) image;
+      int bandRows = Math.min(tiledImage.height, source.getBandRows());
+      int[] band = new int[tiledImage.width * bandRows];
+      for (int row = 0; row < tiledImage.height; row += bandRows) {
+        int rows = Math.min(bandRows, tiledImage.height - row);
+        source.readRows(row, rows, band);
+        tiledImage.writeRows(row, rows, band);
+      }
+    } else {
+      tiledImage.writeRows(0, tiledImage.height, RasterImage.of(image).getPixels());
+    }
+    return tiledImage;
+  }
+
+  @Override
+  public int getTileSize() {
+    return TILE_SIZE;
+  }
+
+  @Override
+  public int getTileRows() {
+    return tileRows;
+  }
+
+  @Override
+  public int getTileColumns() {
+    return tileColumns;
+  }
+
+  @Override
+  public int getBandRows() {
+    return Math.max(1, BAND_PIXELS / width / TILE_SIZE) * TILE_SIZE;
+  }
+
+  @Override
+  public void readTile(int tileRow, int tileColumn, int[] pixels) {
+    checkTile(tileRow, tileColumn, pixels);
+    int[] tile = tiles[tileRow * tileColumns + tileColumn];
+    if (null == tile) {
+      Arrays.fill(pixels, 0, TILE_PIXELS, 0);
+    } else {
+      System.arraycopy(tile, 0, pixels, 0, TILE_PIXELS);
+    }
+  }
+
+  @Override
+  public void writeTile(int tileRow, int tileColumn, int[] pixels) {
+    checkTile(tileRow, tileColumn, pixels);
+    int[] tile = getWritableTile(tileRow * tileColumns + tileColumn);
+    int columns = Math.min(TILE_SIZE, width - tileColumn * TILE_SIZE);
+    int rows = Math.min(TILE_SIZE, height - tileRow * TILE_SIZE);
+    for (int i = 0; i < rows; i++) {
+      System.arraycopy(pixels, i * TILE_SIZE, tile, i * TILE_SIZE, columns);
+    }
+  }
+
+  private void checkTile(int tileRow, int tileColumn, int[] pixels) {
+    if (tileRow < 0 || tileRow >= tileRows || tileColumn < 0 || tileColumn >= tileColumns) {
+      throw new IllegalArgumentException("Invalid tile.");
+    }
+    if (null == pixels || pixels.length < TILE_PIXELS) {
+      throw new IllegalArgumentException("Invalid image pixels.");
+    }
+  }
+
+  /**
+   * Helper method to get a tile which can be written by this image. A tile
+   * which is shared with another image is copied first, and a black tile is
+   * created.
+   *
+   * @param index which is the index of the tile.
+   * @return the pixels of the tile.
+   */
+  private int[] getWritableTile(int index) {
+    int[] tile = tiles[index];
+    if (!owned[index]) {
+      tile = null == tile ? new int[TILE_PIXELS] : tile.clone();
+      tiles[index] = tile;
+      owned[index] = true;
+    }
+    return tile;
+  }
+
+  @Override
+  public void readRows(int row, int rows, int[] pixels) {
+    checkRows(row, rows, pixels);
+    for (int i = 0; i < rows; i++) {
+      int tileRow = (row + i) / TILE_SIZE;
+      int offset = (row + i) % TILE_SIZE * TILE_SIZE;
+      for (int tile = 0; tile < tileColumns; tile++) {
+        int[] pixelsOfTile = tiles[tileRow * tileColumns + tile];
+        int position = i * width + tile * TILE_SIZE;
+        int length = Math.min(TILE_SIZE, width - tile * TILE_SIZE);
+        if (null == pixelsOfTile) {
+          Arrays.fill(pixels, position, position + length, 0);
+        } else {
+          System.arraycopy(pixelsOfTile, offset, pixels, position, length);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void writeRows(int row, int rows, int[] pixels) {
+    checkRows(row, rows, pixels);
+    for (int i = 0; i < rows; i++) {
+      int tileRow = (row + i) / TILE_SIZE;
+      int offset = (row + i) % TILE_SIZE * TILE_SIZE;
+      for (int tile = 0; tile < tileColumns; tile++) {
+        System.arraycopy(pixels, i * width + tile * TILE_SIZE,
+            getWritableTile(tileRow * tileColumns + tile), offset,
+            Math.min(TILE_SIZE, width - tile * TILE_SIZE));
+      }
+    }
+  }
+
+  private void checkRows(int row, int rows, int[] pixels) {
+    if (row < 0 || rows < 0 || row + rows > height) {
+      throw new IllegalArgumentException("Invalid rows.");
+    }
+    if (null == pixels || pixels.length < (long) rows * width) {
+      throw new IllegalArgumentException("Invalid image pixels.");
+    }
+  }
+
+  @Override
+  public TiledImage create(int width, int height) {
+    return new SharedTiledImage(width, height);
+  }
+
+  /**
+   * Method used to create a copy of the image. The copy shares the tiles of the
+   * image, so it only takes the memory of a reference to every tile until one
+   * of the images is changed.
+   *
+   * @return a new {@link SharedTiledImage} with the same pixels.
+   */
+  @Override
+  public SharedTiledImage copy() {
+    Arrays.fill(owned, false);
+    return new SharedTiledImage(this);
+  }
+
+  /**
+   * Method used to set the color of a pixel.
+   *
+   * @param row    which is the row of the pixel.
+   * @param column which is the column of the pixel.
+   * @param rgb    which is the packed 0xRRGGBB value of the color.
+   */
+  public void setRGB(int row, int column, int rgb) {
+    checkPixel(row, column);
+    getWritableTile(row / TILE_SIZE * tileColumns + column / TILE_SIZE)[row % TILE_SIZE
+        * TILE_SIZE + column % TILE_SIZE] = rgb & 0xFFFFFF;
+  }
+
+  @Override
+  public int getRGB(int row, int column) {
+    checkPixel(row, column);
+    int[] tile = tiles[row / TILE_SIZE * tileColumns + column / TILE_SIZE];
+    return null == tile ? 0 : tile[row % TILE_SIZE * TILE_SIZE + column % TILE_SIZE];
+  }
+
+  private void checkPixel(int row, int column) {
+    if (row < 0 || row >= height || column < 0 || column >= width) {
+      throw new IllegalArgumentException("Invalid pixel.");
+    }
+  }
+
+  /**
+   * Method to get the {@link Image} in a matrix format. The matrix is created
+   * every time it is requested, and changes made to the matrix are not
+   * reflected in the image.
+   *
+   * @return a matrix which is the {@link Image}.
+   */
+  @Override
+  public int[][][] getImage() {
+    int[][][] matrix = new int[height][width][];
+    int[] row = new int[width];
+    for (int i = 0; i < height; i++) {
+      readRows(i, 1, row);
+      for (int j = 0; j < width; j++) {
+        int rgb = row[j];
+        matrix[i][j] = new int[] { RasterImage.red(rgb), RasterImage.green(rgb),
+            RasterImage.blue(rgb) };
+      }
+    }
+    return matrix;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+}
@@ -0,0 +1,104 @@
+package model.image;
+
+/**
+ * Interface which represents an {@link Image} whose pixels are stored in
+ * square tiles. Contains the operations used to read and write the pixels of
+ * the image one tile or one band of rows at a time, so that images larger than
+ * the memory of the program can be processed and copies of an image can share
+ * the tiles which are not changed. The pixels are packed into one integer as
+ * 0xRRGGBB.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public interface TiledImage extends Image {
+
+  /**
+   * Method used to get the width and height of the tiles of the image.
+   *
+   * @return the size of the tiles in pixels.
+   */
+  public int getTileSize();
+
+  /**
+   * Method used to get the number of rows of tiles of the image.
+   *
+   * @return the number of rows of tiles.
+   */
+  public int getTileRows();
+
+  /**
+   * Method used to get the number of columns of tiles of the image.
+   *
+   * @return the number of columns of tiles.
+   */
+  public int getTileColumns();
+
+  /**
+   * Method used to get the number of rows of pixels which are read or written
+   * at once by the operations that go over the whole image. The number is a
+   * multiple of the tile size.
+   *
+   * @return the number of rows in a band.
+   */
+  public int getBandRows();
+
+  /**
+   * Method used to read the pixels of a tile. The pixels of the tiles at the
+   * right and bottom edges which are outside the image are read as black.
+   *
+   * @param tileRow    which is the row of the tile.
+   * @param tileColumn which is the column of the tile.
+   * @param pixels     which is an array of at least the size of a tile where the
+   *                   pixels are stored in row-major order.
+   */
+  public void readTile(int tileRow, int tileColumn, int[] pixels);
+
+  /**
+   * Method used to write the pixels of a tile.
+   *
+   * @param tileRow    which is the row of the tile.
+   * @param tileColumn which is the column of the tile.
+   * @param pixels     which is an array of at least the size of a tile
+   *                   containing the pixels in row-major order.
+   */
+  public void writeTile(int tileRow, int tileColumn, int[] pixels);
+
+  /**
+   * Method used to read a band of rows of pixels.
+   *
+   * @param row    which is the first row to be read.
+   * @param rows   which is the number of rows to be read.
+   * @param pixels which is an array of at least the width of the image times the
+   *               number of rows where the pixels are stored in row-major
+   *               order.
+   */
+  public void readRows(int row, int rows, int[] pixels);
+
+  /**
+   * Method used to write a band of rows of pixels.
+   *
+   * @param row    which is the first row to be written.
+   * @param rows   which is the number of rows to be written.
+   * @param pixels which is an array of at least the width of the image times the
+   *               number of rows containing the pixels in row-major order.
+   */
+  public void writeRows(int row, int rows, int[] pixels);
+
+  /**
+   * Method used to create a black image of the given size which is stored in
+   * the same way as this image.
+   *
+   * @param width  which represents the width of the new image.
+   * @param height which represents the height of the new image.
+   * @return the new {@link TiledImage}.
+   */
+  public TiledImage create(int width, int height);
+
+  /**
+   * Method used to create a copy of the image.
+   *
+   * @return a new {@link TiledImage} with the same pixels.
+   */
+  public TiledImage copy();
+}
@@ -0,0 +1,133 @@
+package model.utils;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Class which writes image files on a small pool of background threads so that
+ * the program can continue while the images are encoded. The writes to the
+ * same file are done in the order they were submitted, and the number of
+ * writes waiting to be done is limited so that the images held by them do not
+ * use up the memory of the program.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public class BackgroundImageWriter {
+
+  /**
+   * Interface which represents the writing of an image file.
+   */
+  @FunctionalInterface
+  public interface Write {
+
+    /**
+     * Method used to write the image file.
+     *
+     * @throws IOException if the file cannot be written to.
+     */
+    public void write() throws IOException;
+  }
+
+  private final ExecutorService executor;
+  private final Semaphore pendingWrites;
+  private final Map<String, CompletableFuture<Void>> lastWrites;
+
+  /**
+   * Constructor for the {@link BackgroundImageWriter} which takes the number of
+   * threads and the number of writes which can be waiting at once as input.
+   *
+   * @param threads       which is the number of threads writing the files.
+   * @param pendingWrites which is the number of writes which can be waiting to
+   *                      be done before a new write has to wait.
+   */
+  public BackgroundImageWriter(int threads, int pendingWrites) {
+    if (threads <= 0 || pendingWrites <= 0) {
+      throw new IllegalArgumentException("Invalid number of threads.");
+    }
+    this.executor = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "image-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.pendingWrites = new Semaphore(pendingWrites);
+    this.lastWrites = new HashMap<>();
+  }
+
+  /**
+   * Method used to write an image file in the background. The write starts
+   * after the earlier writes of the same file have finished, and the method
+   * waits if too many writes are already waiting to be done.
+   *
+   * @param filename which is the location of the file to be written.
+   * @param write    which writes the file.
+   * @return a {@link CompletableFuture} which completes when the file has been
+   *         written, or completes exceptionally with the {@link IOException}
+   *         of the write.
+   */
+  public CompletableFuture<Void> submit(String filename, Write write) {
+    if (null == filename || null == write) {
+      throw new IllegalArgumentException("Invalid write.");
+    }
+    String key = toKey(filename);
+    pendingWrites.acquireUninterruptibly();
+    synchronized (lastWrites) {
+      CompletableFuture<Void> previous = lastWrites.get(key);
+      if (null == previous) {
+        previous = CompletableFuture.completedFuture(null);
+      }
+      CompletableFuture<Void> result = previous.handle((value, error) -> value)
+          .thenRunAsync(() -> {
+            try {
+              write.write();
+            } catch (IOException e) {
+              throw new CompletionException(e);
+            } finally {
+              pendingWrites.release();
+            }
+          }, executor);
+      lastWrites.put(key, result);
+      result.whenComplete((value, error) -> {
+        synchronized (lastWrites) {
+          lastWrites.remove(key, result);
+        }
+      });
+      return result;
+    }
+  }
+
+  /**
+   * Method used to wait until the writes of a file which have been submitted
+   * are done, whether they were successful or not.
+   *
+   * @param filename which is the location of the file.
+   */
+  public void await(String filename) {
+    if (null == filename) {
+      throw new IllegalArgumentException("Invalid filename.");
+    }
+    CompletableFuture<Void> last;
+    synchronized (lastWrites) {
+      last = lastWrites.get(toKey(filename));
+    }
+    if (null != last) {
+      last.handle((value, error) -> value).join();
+    }
+  }
+
+  private static String toKey(String filename) {
+    try {
+      return Paths.get(filename).toAbsolutePath().normalize().toString();
+    } catch (InvalidPathException e) {
+      return filename;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package model.utils;
+
+/**
+ * Enum which represents the way the pixels outside of an image are treated by
+ * a convolution filter.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public enum BorderMode {
+  /**
+   * The pixels outside of the image are black.
+   */
+  ZERO,
+  /**
+   * The pixels outside of the image repeat the nearest pixel at the edge.
+   */
+  CLAMP,
+  /**
+   * The pixels outside of the image mirror the pixels inside it, with the
+   * pixel at the edge repeated once.
+   */
+  MIRROR;
+
+  /**
+   * Method used to get the border mode for the name used in commands. An empty
+   * name represents the default zero border mode.
+   * 
+   * @param name which is the name of the border mode.
+   * @return the {@link BorderMode} with the given name.
+   * @throws IllegalArgumentException for an unknown name.
+   */
+  public static BorderMode fromName(String name) throws IllegalArgumentException {
+    if (null == name) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    switch (name.trim().toLowerCase()) {
+      case "":
+      case "zero":
+        return ZERO;
+      case "clamp":
+        return CLAMP;
+      case "mirror":
+        return MIRROR;
+      default:
+        throw new IllegalArgumentException("Invalid border mode.");
+    }
+  }
+
+  /**
+   * Method used to get the index inside a row or column of the image which is
+   * used in place of the given index.
+   * 
+   * @param index  which is the index of the pixel, which may be outside of the
+   *               image.
+   * @param length which is the number of pixels of the row or column.
+   * @return the index of the pixel to be used, or -1 if a black pixel is to be
+   *         used.
+   */
+  public int getIndex(int index, int length) {
+    if (index >= 0 && index < length) {
+      return index;
+    }
+    switch (this) {
+      case CLAMP:
+        return index < 0 ? 0 : length - 1;
+      case MIRROR:
+        int period = 2 * length;
+        int position = (index % period + period) % period;
+        return position < length ? position : period - 1 - position;
+      default:
+        return -1;
+    }
+  }
+}
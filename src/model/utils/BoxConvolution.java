@@ -0,0 +1,137 @@
+package model.utils;
+
+import model.image.RasterImage;
+
+/**
+ * Implementation class of the {@link Convolution} interface for a box filter,
+ * which replaces every pixel with the average of the square of pixels around
+ * it. The rows read for a band are summed horizontally with a running sum which
+ * adds the pixel entering the square and subtracts the pixel leaving it, and
+ * the columns of the band are then summed vertically in the same way, so the
+ * time taken for every pixel does not depend on the radius of the filter. The
+ * sums are exact integers and the average is rounded once, so the result does
+ * not depend on how the image is divided into bands.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public final class BoxConvolution implements Convolution {
+
+  /** The largest radius of the filter, which keeps the sums within range. */
+  public static final int MAXIMUM_RADIUS = 1 << 16;
+
+  private final int radius;
+  private final int size;
+  private final BorderMode border;
+
+  /**
+   * Constructor for the {@link BoxConvolution} class which takes the radius of
+   * the square and the way the pixels outside of the image are treated as
+   * input.
+   *
+   * @param radius which is the number of pixels on each side of a pixel which
+   *               are averaged with it.
+   * @param border which is the way the pixels outside of the image are treated.
+   */
+  public BoxConvolution(int radius, BorderMode border) {
+    if (radius <= 0 || radius > MAXIMUM_RADIUS) {
+      throw new IllegalArgumentException("Invalid blur radius.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    this.radius = radius;
+    this.size = 2 * radius + 1;
+    this.border = border;
+  }
+
+  @Override
+  public int getRadius() {
+    return radius;
+  }
+
+  @Override
+  public void filterRows(int[] pixels, int sourceRow, int[] filtered, int row, int rows,
+      int width, int height) {
+    int[] filterRows = new int[rows + size - 1];
+    int firstRow = height;
+    int lastRow = -1;
+    for (int i = 0; i < filterRows.length; i++) {
+      filterRows[i] = border.getIndex(row + i - radius, height);
+      if (filterRows[i] >= 0) {
+        firstRow = Math.min(firstRow, filterRows[i]);
+        lastRow = Math.max(lastRow, filterRows[i]);
+      }
+    }
+    int[] columns = new int[width + size - 1];
+    for (int column = 0; column < columns.length; column++) {
+      columns[column] = border.getIndex(column - radius, width);
+    }
+    int count = Math.max(0, lastRow - firstRow + 1);
+    int[][] sums = new int[3][count * width];
+    for (int i = 0; i < count; i++) {
+      sumRow(pixels, (firstRow + i - sourceRow) * width, columns, sums, i * width, width);
+    }
+    long[][] totals = new long[3][width];
+    for (int i = 0; i < size - 1; i++) {
+      addRow(sums, filterRows[i], firstRow, totals, width, 1);
+    }
+    long area = (long) size * size;
+    for (int i = 0; i < rows; i++) {
+      addRow(sums, filterRows[i + size - 1], firstRow, totals, width, 1);
+      int offset = i * width;
+      for (int j = 0; j < width; j++) {
+        filtered[offset + j] = RasterImage.pack((int) ((totals[0][j] + area / 2) / area),
+            (int) ((totals[1][j] + area / 2) / area), (int) ((totals[2][j] + area / 2) / area));
+      }
+      addRow(sums, filterRows[i], firstRow, totals, width, -1);
+    }
+  }
+
+  /**
+   * Helper method which sums every square of a row horizontally with a running
+   * sum.
+   */
+  private void sumRow(int[] pixels, int rowOffset, int[] columns, int[][] sums, int offset,
+      int width) {
+    int red = 0;
+    int green = 0;
+    int blue = 0;
+    for (int column = 0; column < columns.length; column++) {
+      int rgb = columns[column] < 0 ? 0 : pixels[rowOffset + columns[column]];
+      red += RasterImage.red(rgb);
+      green += RasterImage.green(rgb);
+      blue += RasterImage.blue(rgb);
+      int start = column - size + 1;
+      if (start >= 0) {
+        sums[0][offset + start] = red;
+        sums[1][offset + start] = green;
+        sums[2][offset + start] = blue;
+        rgb = columns[start] < 0 ? 0 : pixels[rowOffset + columns[start]];
+        red -= RasterImage.red(rgb);
+        green -= RasterImage.green(rgb);
+        blue -= RasterImage.blue(rgb);
+      }
+    }
+  }
+
+  /**
+   * Helper method which adds the horizontal sums of a row to the vertical
+   * totals of the columns, or subtracts them when the sign is negative. Rows
+   * left out by the border mode are black and change nothing.
+   */
+  private static void addRow(int[][] sums, int filterRow, int firstRow, long[][] totals,
+      int width, int sign) {
+    if (filterRow < 0) {
+      return;
+    }
+    int offset = (filterRow - firstRow) * width;
+    for (int channel = 0; channel < 3; channel++) {
+      int[] sum = sums[channel];
+      long[] total = totals[channel];
+      for (int j = 0; j < width; j++) {
+        total[j] += sign * sum[offset + j];
+      }
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package model.utils;
+
+/**
+ * Hash table of the distinct colors of an image stored as packed RGB values in
+ * primitive arrays. Every distinct color is given an identifier in the order it
+ * was first added and the number of times it was added is counted.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public class ColorTable {
+
+  private int[] slots;
+  private int[] colors;
+  private int[] counts;
+  private int size;
+
+  /**
+   * Constructor for the {@link ColorTable} which takes the expected number of
+   * distinct colors as input.
+   * 
+   * @param expectedSize which is the expected number of distinct colors.
+   */
+  public ColorTable(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Invalid size of color table.");
+    }
+    int capacity = 16;
+    while (capacity < expectedSize * 2 && capacity < (1 << 30)) {
+      capacity <<= 1;
+    }
+    slots = new int[capacity];
+    colors = new int[capacity / 2];
+    counts = new int[capacity / 2];
+  }
+
+  /**
+   * Method used to pack the color channels into a single RGB value.
+   * 
+   * @param red   which is the red channel of the color.
+   * @param green which is the green channel of the color.
+   * @param blue  which is the blue channel of the color.
+   * @return the packed RGB value.
+   */
+  public static int pack(int red, int green, int blue) {
+    return (red << 16) | (green << 8) | blue;
+  }
+
+  /**
+   * Method used to add a color to the table.
+   * 
+   * @param rgb which is the packed RGB value of the color.
+   * @return the identifier of the color in the table.
+   */
+  public int add(int rgb) {
+    return add(rgb, 1);
+  }
+
+  /**
+   * Method used to add a color to the table the given number of times.
+   * 
+   * @param rgb   which is the packed RGB value of the color.
+   * @param count which is the number of times the color is added.
+   * @return the identifier of the color in the table.
+   */
+  public int add(int rgb, int count) {
+    int mask = slots.length - 1;
+    int slot = hash(rgb) & mask;
+    while (slots[slot] != 0) {
+      int id = slots[slot] - 1;
+      if (colors[id] == rgb) {
+        counts[id] += count;
+        return id;
+      }
+      slot = (slot + 1) & mask;
+    }
+    if (size == colors.length) {
+      grow();
+      return add(rgb, count);
+    }
+    colors[size] = rgb;
+    counts[size] = count;
+    slots[slot] = ++size;
+    return size - 1;
+  }
+
+  /**
+   * Method used to find the identifier of a color in the table.
+   * 
+   * @param rgb which is the packed RGB value of the color.
+   * @return the identifier of the color or -1 if it was never added.
+   */
+  public int indexOf(int rgb) {
+    int mask = slots.length - 1;
+    int slot = hash(rgb) & mask;
+    while (slots[slot] != 0) {
+      int id = slots[slot] - 1;
+      if (colors[id] == rgb) {
+        return id;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Method used to get the number of distinct colors in the table.
+   * 
+   * @return the number of distinct colors.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Method used to get the packed RGB value of the color with the given
+   * identifier.
+   * 
+   * @param id which is the identifier of the color.
+   * @return the packed RGB value.
+   */
+  public int getColor(int id) {
+    return colors[id];
+  }
+
+  /**
+   * Method used to get the number of times the color with the given identifier
+   * was added.
+   * 
+   * @param id which is the identifier of the color.
+   * @return the count of the color.
+   */
+  public int getCount(int id) {
+    return counts[id];
+  }
+
+  private void grow() {
+    int[] oldColors = colors;
+    int[] oldCounts = counts;
+    slots = new int[slots.length * 2];
+    colors = new int[slots.length / 2];
+    counts = new int[slots.length / 2];
+    int oldSize = size;
+    size = 0;
+    for (int id = 0; id < oldSize; id++) {
+      add(oldColors[id], oldCounts[id]);
+    }
+  }
+
+  private static int hash(int rgb) {
+    int h = rgb * 0x9E3779B1;
+    return h ^ (h >>> 15);
+  }
+}
@@ -0,0 +1,37 @@
+package model.utils;
+
+/**
+ * Interface which represents a convolution filter applied to the packed pixels
+ * of an image. The image is filtered one band of rows at a time, so the same
+ * filter can be applied to an image in a single array and to an image stored
+ * in tiles.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public interface Convolution {
+
+  /**
+   * Method used to get the number of rows and columns around a pixel which are
+   * read by the filter.
+   * 
+   * @return the radius of the filter.
+   */
+  public int getRadius();
+
+  /**
+   * Method used to apply the filter to a band of rows of an image.
+   * 
+   * @param pixels    which contains the rows of the image starting at the
+   *                  source row, including the rows around the band which are
+   *                  inside the image.
+   * @param sourceRow which is the row of the image at the start of the pixels.
+   * @param filtered  which is where the filtered band is stored.
+   * @param row       which is the first row of the band.
+   * @param rows      which is the number of rows of the band.
+   * @param width     which is the width of the image.
+   * @param height    which is the height of the image.
+   */
+  public void filterRows(int[] pixels, int sourceRow, int[] filtered, int row, int rows,
+      int width, int height);
+}
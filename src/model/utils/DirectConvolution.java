@@ -0,0 +1,250 @@
+package model.utils;
+
+import model.image.RasterImage;
+
+import java.util.Arrays;
+
+/**
+ * Implementation class of the {@link Convolution} interface which applies a
+ * square filter matrix to the packed pixels of an image. The pixel read by
+ * every weight of the filter is found once for every row and column of the
+ * image, and every row read by the filter is copied once into a buffer which
+ * is extended on both sides by the radius of the filter, so the filtering loop
+ * neither checks the borders of the image nor creates any objects. Pixels left
+ * out by the border mode are black in the buffer, which leaves the totals
+ * unchanged. Every product of a channel and a weight is added to the total of
+ * the channel and truncated to an integer, and the totals are clamped to the
+ * range 0 to 255. Two neighbouring pixels are filtered together so that the
+ * processor can work on their totals at the same time. When every weight is an
+ * integer divided by a power of two, as with the blur and sharpen filters, the
+ * filter is applied with integers and shifts only, which gives the same result.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public final class DirectConvolution implements Convolution {
+
+  private static final int MAXIMUM_SHIFT = 16;
+  private static final int BLOCK_COLUMNS = 256;
+
+  private final double[] weights;
+  private final int[] fixedWeights;
+  private final int shift;
+  private final int size;
+  private final int radius;
+  private final BorderMode border;
+
+  /**
+   * Constructor for the {@link DirectConvolution} class which takes the filter
+   * matrix and the way the pixels outside of the image are treated as input.
+   * 
+   * @param filter which is the square filter matrix with an odd size.
+   * @param border which is the way the pixels outside of the image are treated.
+   */
+  public DirectConvolution(double[][] filter, BorderMode border) {
+    if (null == filter || filter.length % 2 == 0) {
+      throw new IllegalArgumentException("Invalid filter matrix.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    this.size = filter.length;
+    this.radius = size / 2;
+    this.border = border;
+    this.weights = new double[size * size];
+    for (int x = 0; x < size; x++) {
+      if (null == filter[x] || filter[x].length != size) {
+        throw new IllegalArgumentException("Invalid filter matrix.");
+      }
+      System.arraycopy(filter[x], 0, weights, x * size, size);
+    }
+    this.shift = getShift(weights);
+    if (shift < 0) {
+      this.fixedWeights = null;
+    } else {
+      this.fixedWeights = new int[weights.length];
+      for (int tap = 0; tap < weights.length; tap++) {
+        fixedWeights[tap] = (int) (weights[tap] * (1 << shift));
+      }
+    }
+  }
+
+  /**
+   * Helper method to find the smallest power of two which turns every weight
+   * into an integer. Every product of a channel and such a weight, and every
+   * total it is added to, is then exact, so the totals can be computed with
+   * integers only and truncated with a shift.
+   *
+   * @param weights which are the weights of the filter.
+   * @return the exponent of the power of two, or -1 if there is no power of two
+   *         small enough to keep the totals within the range of an integer.
+   */
+  private static int getShift(double[] weights) {
+    for (int shift = 0; shift <= MAXIMUM_SHIFT; shift++) {
+      long total = 0;
+      boolean exact = true;
+      for (double weight : weights) {
+        double scaled = weight * (1 << shift);
+        if (scaled != Math.rint(scaled) || Math.abs(scaled) > Integer.MAX_VALUE) {
+          exact = false;
+          break;
+        }
+        total += Math.abs((long) scaled);
+      }
+      if (exact) {
+        return 2 * 255 * total < Integer.MAX_VALUE ? shift : -1;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int getRadius() {
+    return radius;
+  }
+
+  @Override
+  public void filterRows(int[] pixels, int sourceRow, int[] filtered, int row, int rows,
+      int width, int height) {
+    int[] columns = new int[width + 2 * radius];
+    for (int column = 0; column < columns.length; column++) {
+      columns[column] = border.getIndex(column - radius, width);
+    }
+    int channels = null == fixedWeights ? 1 : 3;
+    int[][][] buffer = new int[size][channels][columns.length];
+    int[] bufferedRows = new int[size];
+    Arrays.fill(bufferedRows, -1);
+    int[][] black = new int[channels][columns.length];
+    int[][][] filterRows = new int[size][][];
+    int[][] totals = null == fixedWeights ? null : new int[3][width];
+    for (int i = row; i < row + rows; i++) {
+      for (int x = 0; x < size; x++) {
+        int filterRow = border.getIndex(i + x - radius, height);
+        if (filterRow < 0) {
+          filterRows[x] = black;
+          continue;
+        }
+        int slot = filterRow % size;
+        if (bufferedRows[slot] != filterRow) {
+          readRow(pixels, (filterRow - sourceRow) * width, columns, buffer[slot]);
+          bufferedRows[slot] = filterRow;
+        }
+        filterRows[x] = buffer[slot];
+      }
+      if (null == fixedWeights) {
+        filterRow(filterRows, filtered, (i - row) * width, width);
+      } else {
+        filterFixedRow(filterRows, totals, filtered, (i - row) * width, width);
+      }
+    }
+  }
+
+  /**
+   * Helper method which copies a row of the image into the buffer, extended on
+   * both sides by the radius of the filter. The row is kept packed when the
+   * filter is applied with its weights, and is split into its red, green and
+   * blue channels when the filter is applied with integer weights.
+   */
+  private static void readRow(int[] pixels, int rowOffset, int[] columns, int[][] row) {
+    for (int column = 0; column < columns.length; column++) {
+      int rgb = columns[column] < 0 ? 0 : pixels[rowOffset + columns[column]];
+      if (row.length == 1) {
+        row[0][column] = rgb;
+      } else {
+        row[0][column] = RasterImage.red(rgb);
+        row[1][column] = RasterImage.green(rgb);
+        row[2][column] = RasterImage.blue(rgb);
+      }
+    }
+  }
+
+  /**
+   * Helper method which filters a row of the image with the weights of the
+   * filter.
+   */
+  private void filterRow(int[][][] filterRows, int[] filtered, int offset, int width) {
+    int j = 0;
+    for (; j + 1 < width; j += 2) {
+      int red = 0;
+      int green = 0;
+      int blue = 0;
+      int nextRed = 0;
+      int nextGreen = 0;
+      int nextBlue = 0;
+      for (int x = 0, tap = 0; x < size; x++) {
+        int[] filterRow = filterRows[x][0];
+        for (int y = 0; y < size; y++, tap++) {
+          double weight = weights[tap];
+          int rgb = filterRow[j + y];
+          int nextRgb = filterRow[j + y + 1];
+          red = (int) (red + RasterImage.red(rgb) * weight);
+          green = (int) (green + RasterImage.green(rgb) * weight);
+          blue = (int) (blue + RasterImage.blue(rgb) * weight);
+          nextRed = (int) (nextRed + RasterImage.red(nextRgb) * weight);
+          nextGreen = (int) (nextGreen + RasterImage.green(nextRgb) * weight);
+          nextBlue = (int) (nextBlue + RasterImage.blue(nextRgb) * weight);
+        }
+      }
+      filtered[offset + j] = RasterImage.pack(red, green, blue);
+      filtered[offset + j + 1] = RasterImage.pack(nextRed, nextGreen, nextBlue);
+    }
+    for (; j < width; j++) {
+      int red = 0;
+      int green = 0;
+      int blue = 0;
+      for (int x = 0, tap = 0; x < size; x++) {
+        int[] filterRow = filterRows[x][0];
+        for (int y = 0; y < size; y++, tap++) {
+          double weight = weights[tap];
+          int rgb = filterRow[j + y];
+          red = (int) (red + RasterImage.red(rgb) * weight);
+          green = (int) (green + RasterImage.green(rgb) * weight);
+          blue = (int) (blue + RasterImage.blue(rgb) * weight);
+        }
+      }
+      filtered[offset + j] = RasterImage.pack(red, green, blue);
+    }
+  }
+
+  /**
+   * Helper method which filters a row of the image with the weights of the
+   * filter as integers over a power of two. A total and a product are added as
+   * integers over the same power of two, and dividing by the power of two with
+   * a shift which rounds towards zero gives the truncated total, so the result
+   * is the same as with the weights themselves. Every weight is applied to a
+   * block of columns of a channel at a time in a loop without branches, which
+   * can be compiled to vector instructions.
+   */
+  private void filterFixedRow(int[][][] filterRows, int[][] totals, int[] filtered,
+      int offset, int width) {
+    for (int start = 0; start < width; start += BLOCK_COLUMNS) {
+      int end = Math.min(width, start + BLOCK_COLUMNS);
+      for (int channel = 0; channel < 3; channel++) {
+        int[] total = totals[channel];
+        Arrays.fill(total, start, end, 0);
+        for (int x = 0, tap = 0; x < size; x++) {
+          int[] plane = filterRows[x][channel];
+          for (int y = 0; y < size; y++, tap++) {
+            addFixedTap(plane, y, fixedWeights[tap], total, start, end);
+          }
+        }
+      }
+    }
+    for (int j = 0; j < width; j++) {
+      filtered[offset + j] = RasterImage.pack(totals[0][j], totals[1][j], totals[2][j]);
+    }
+  }
+
+  /**
+   * Helper method which adds the product of a weight and a channel to the
+   * totals of a block of columns and truncates them.
+   */
+  private void addFixedTap(int[] plane, int column, int weight, int[] total, int start,
+      int end) {
+    int mask = (1 << shift) - 1;
+    for (int j = start; j < end; j++) {
+      int sum = (total[j] << shift) + plane[j + column] * weight;
+      total[j] = (sum + (sum >> 31 & mask)) >> shift;
+    }
+  }
+}
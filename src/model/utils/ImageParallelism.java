@@ -0,0 +1,184 @@
+package model.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntConsumer;
+
+/**
+ * Utility class which runs the independent parts of an image operation on a
+ * shared {@link ForkJoinPool}. Images are divided into bands of rows and every
+ * band is processed as a separate task. The degree of parallelism is shared by
+ * all the operations of the application.
+ * 
+ * @author Jaswin Gumpella
+ *
+ */
+public final class ImageParallelism {
+
+  private static final int MINIMUM_BAND_ROWS = 16;
+  private static final int BANDS_PER_THREAD = 4;
+
+  private static int parallelism = Runtime.getRuntime().availableProcessors();
+  private static ForkJoinPool pool;
+
+  private ImageParallelism() {
+  }
+
+  /**
+   * Method used to set the number of threads used by the image operations. The
+   * pool of the previous number of threads is replaced before it is shut down,
+   * so the operations running on it finish and new operations use the new pool.
+   * 
+   * @param threads which is the number of threads to be used.
+   */
+  public static synchronized void setParallelism(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Invalid number of threads.");
+    }
+    if (threads != parallelism) {
+      ForkJoinPool replaced = pool;
+      pool = null;
+      parallelism = threads;
+      if (null != replaced) {
+        replaced.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Method used to get the number of threads used by the image operations.
+   * 
+   * @return the number of threads.
+   */
+  public static synchronized int getParallelism() {
+    return parallelism;
+  }
+
+  private static synchronized ForkJoinPool getPool() {
+    if (null == pool) {
+      pool = new ForkJoinPool(parallelism);
+    }
+    return pool;
+  }
+
+  /**
+   * Method used to get the number of bands the given number of rows are to be
+   * divided into.
+   * 
+   * @param rows which is the number of rows of the image.
+   * @return the number of bands.
+   */
+  public static int getBandCount(int rows) {
+    if (rows <= 0) {
+      return 0;
+    }
+    int bands = Math.min(getParallelism() * BANDS_PER_THREAD, rows / MINIMUM_BAND_ROWS);
+    return Math.max(1, bands);
+  }
+
+  /**
+   * Method used to get the first row of a band.
+   * 
+   * @param rows  which is the number of rows of the image.
+   * @param bands which is the number of bands the rows are divided into.
+   * @param band  which is the index of the band, or the number of bands to get
+   *              the end of the last band.
+   * @return the first row of the band.
+   */
+  public static int getBandStart(int rows, int bands, int band) {
+    return (int) ((long) rows * band / bands);
+  }
+
+  /**
+   * Method used to run the given task for every index from zero to the given
+   * count. The tasks are run in parallel unless a single thread is configured.
+   * A pool which is replaced by {@link #setParallelism(int)} before the tasks
+   * are submitted to it rejects them, and they are submitted to the new pool.
+   * 
+   * @param count which is the number of tasks.
+   * @param task  which is the task to be run for every index.
+   */
+  public static void forEach(int count, IntConsumer task) {
+    if (null == task) {
+      throw new IllegalArgumentException("Invalid task.");
+    }
+    if (count <= 1 || getParallelism() == 1) {
+      for (int i = 0; i < count; i++) {
+        task.accept(i);
+      }
+      return;
+    }
+    int grain = Math.max(1, count / (getParallelism() * BANDS_PER_THREAD));
+    while (true) {
+      ForkJoinPool current = getPool();
+      try {
+        current.invoke(new RangeTask(0, count, grain, task));
+        return;
+      } catch (RejectedExecutionException e) {
+        if (current == getPool()) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Method used to run the given task for every band of rows of an image.
+   * 
+   * @param rows which is the number of rows of the image.
+   * @param task which is the task to be run with the first row and the end row
+   *             of every band.
+   */
+  public static void forEachBand(int rows, BandTask task) {
+    if (null == task) {
+      throw new IllegalArgumentException("Invalid task.");
+    }
+    int bands = getBandCount(rows);
+    forEach(bands, band -> task.apply(getBandStart(rows, bands, band),
+        getBandStart(rows, bands, band + 1)));
+  }
+
+  /**
+   * Interface which represents the work done on a band of rows of an image.
+   */
+  public interface BandTask {
+
+    /**
+     * Method used to process the rows of a band.
+     * 
+     * @param startRow which is the first row of the band.
+     * @param endRow   which is the row after the last row of the band.
+     */
+    public void apply(int startRow, int endRow);
+  }
+
+  private static final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int start;
+    private final int end;
+    private final int grain;
+    private final IntConsumer task;
+
+    private RangeTask(int start, int end, int grain, IntConsumer task) {
+      this.start = start;
+      this.end = end;
+      this.grain = grain;
+      this.task = task;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start <= grain) {
+        for (int i = start; i < end; i++) {
+          task.accept(i);
+        }
+        return;
+      }
+      int middle = (start + end) >>> 1;
+      invokeAll(new RangeTask(start, middle, grain, task),
+          new RangeTask(middle, end, grain, task));
+    }
+  }
+}
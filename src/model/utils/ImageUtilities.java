@@ -1,11 +1,29 @@
 package model.utils;
 
-import java.awt.Color;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.File;
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+import org.w3c.dom.Node;
 
 /**
  * Image utility class that has methods to read an image from file and write to
@@ -13,6 +31,14 @@ import javax.imageio.ImageIO;
  */
 public final class ImageUtilities {
 
+  /**
+   * The formats whose readers write the decoded rows through the raster of the
+   * destination image instead of its data array.
+   */
+  private static final Set<String> IN_ORDER_FORMATS = Set.of("png", "jpeg");
+
+  private static final String PNG_METADATA = "javax_imageio_png_1.0";
+
   /** An enumeration of the different channels in our images. */
   public enum Channel {
     RED, GREEN, BLUE;
@@ -26,13 +52,7 @@ public final class ImageUtilities {
    * @throws IOException if the file cannot be found.
    */
   public static int getWidth(String filename) throws IOException {
-    checkFilename(filename);
-
-    FileInputStream fi = new FileInputStream(filename);
-    BufferedImage input = ImageIO.read(fi);
-    fi.close();
-
-    return input.getWidth();
+    return readSize(filename)[0];
   }
 
   /**
@@ -43,13 +63,362 @@ public final class ImageUtilities {
    * @throws IOException if the file cannot be found.
    */
   public static int getHeight(String filename) throws IOException {
+    return readSize(filename)[1];
+  }
+
+  /**
+   * Reads the width and height of an image file from its header without
+   * decoding the pixels.
+   * 
+   * @param filename the image file to read.
+   * @return an array containing the width and the height of the image file.
+   * @throws IOException if the file cannot be found or decoded.
+   */
+  private static int[] readSize(String filename) throws IOException {
+    checkFilename(filename);
+
+    try (ImageInputStream in = ImageIO.createImageInputStream(new File(filename))) {
+      ImageReader reader = getReader(in);
+      try {
+        return new int[] { reader.getWidth(0), reader.getHeight(0) };
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Helper function that finds a reader for the format of an image stream and
+   * sets the stream as its input.
+   * 
+   * @param in the image stream to read.
+   * @return the reader of the image stream.
+   * @throws IOException if the format of the image is not supported.
+   */
+  private static ImageReader getReader(ImageInputStream in) throws IOException {
+    Iterator<ImageReader> readers = null == in ? null : ImageIO.getImageReaders(in);
+    if (null == readers || !readers.hasNext()) {
+      throw new IOException("Unsupported image format.");
+    }
+    ImageReader reader = readers.next();
+    reader.setInput(in, true, true);
+    return reader;
+  }
+
+  /**
+   * Reads an image file.
+   * 
+   * @param filename the image file to read.
+   * @return the decoded image.
+   * @throws IOException if the file cannot be found or decoded.
+   */
+  public static BufferedImage read(String filename) throws IOException {
+    checkFilename(filename);
+
+    File file = new File(filename);
+    if (!file.isFile()) {
+      throw new IOException("File not found.");
+    }
+    BufferedImage input = ImageIO.read(file);
+    if (input == null) {
+      throw new IOException("Unsupported image format.");
+    }
+    return input;
+  }
+
+  /**
+   * Reads a part of an image file at a reduced size. Only the pixels inside the
+   * region are decoded, and the rows and columns of the region are subsampled
+   * by the largest step which keeps the image at least as large as the given
+   * width and height.
+   * 
+   * @param filename the image file to read.
+   * @param width    the minimum width of the decoded image, or 0 for no limit.
+   * @param height   the minimum height of the decoded image, or 0 for no limit.
+   * @param region   the region of the image file to read, or null for the
+   *                 whole image.
+   * @return the decoded image.
+   * @throws IOException if the file cannot be found or decoded.
+   */
+  public static BufferedImage read(String filename, int width, int height, Rectangle region)
+      throws IOException {
     checkFilename(filename);
+    if (width < 0 || height < 0) {
+      throw new IllegalArgumentException("Invalid image size.");
+    }
+
+    File file = new File(filename);
+    if (!file.isFile()) {
+      throw new IOException("File not found.");
+    }
+    try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+      ImageReader reader = getReader(in);
+      try {
+        Rectangle source = new Rectangle(reader.getWidth(0), reader.getHeight(0));
+        if (null != region) {
+          source = source.intersection(region);
+          if (source.isEmpty()) {
+            throw new IllegalArgumentException("Invalid image region.");
+          }
+        }
+        int step = Math.min(getStep(source.width, width), getStep(source.height, height));
+        if (step == Integer.MAX_VALUE) {
+          step = 1;
+        }
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceRegion(source);
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Interface which represents the destination of an image file which is read
+   * one band of rows at a time.
+   */
+  public interface RowWriter {
+
+    /**
+     * Writes a band of rows of the image.
+     * 
+     * @param row    the first row of the band.
+     * @param rows   the number of rows of the band.
+     * @param pixels the packed 0xRRGGBB value of every pixel of the band in
+     *               row-major order.
+     */
+    void writeRows(int row, int rows, int[] pixels);
+  }
+
+  /**
+   * Reads an image file one band of rows at a time with a single reader. The
+   * file is decoded in one pass into a destination which only keeps one band
+   * of rows, and every band is written as soon as the decoder moves past it.
+   * Files whose rows are not decoded in order, such as interlaced images, and
+   * files too large for a single destination are decoded one band region at a
+   * time instead.
+   * 
+   * @param filename the image file to read.
+   * @param bandRows the number of rows of a band.
+   * @param output   the destination of the bands.
+   * @throws IOException if the file cannot be found or decoded.
+   */
+  public static void read(String filename, int bandRows, RowWriter output) throws IOException {
+    checkFilename(filename);
+    if (bandRows <= 0 || null == output) {
+      throw new IllegalArgumentException("Invalid image size.");
+    }
+
+    File file = new File(filename);
+    if (!file.isFile()) {
+      throw new IOException("File not found.");
+    }
+    try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+      ImageReader reader = getReader(in);
+      // the fallback decodes the file again, so the stream has to seek back
+      reader.setInput(in, false, true);
+      try {
+        if (!readInOrder(reader, bandRows, output)) {
+          readRegions(reader, bandRows, output);
+        }
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Helper function that decodes an image in one pass through a
+   * {@link BandBuffer}.
+   * 
+   * @param reader   the reader of the image file.
+   * @param bandRows the number of rows of a band.
+   * @param output   the destination of the bands.
+   * @return false if the image cannot be decoded in one pass.
+   * @throws IOException if the file cannot be decoded.
+   */
+  private static boolean readInOrder(ImageReader reader, int bandRows, RowWriter output)
+      throws IOException {
+    if (!IN_ORDER_FORMATS.contains(reader.getFormatName().toLowerCase())
+        || isInterlaced(reader)) {
+      return false;
+    }
+    int width = reader.getWidth(0);
+    int height = reader.getHeight(0);
+    Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+    if ((long) width * height >= Integer.MAX_VALUE || !types.hasNext()) {
+      return false;
+    }
+    ImageTypeSpecifier type = types.next();
+    SampleModel sampleModel = type.getSampleModel(width, height);
+    SampleModel bandModel = sampleModel.createCompatibleSampleModel(width,
+        Math.min(height, bandRows));
+    int stride = getScanlineStride(sampleModel);
+    if (stride <= 0 || stride != getScanlineStride(bandModel)
+        || (long) stride * height > Integer.MAX_VALUE) {
+      return false;
+    }
+    ColorModel colorModel = type.getColorModel();
+    BandBuffer buffer = new BandBuffer(bandModel, colorModel, stride, height, output);
+    if (buffer.band.getNumBanks() != 1) {
+      return false;
+    }
+    ImageReadParam param = reader.getDefaultReadParam();
+    param.setDestination(new BufferedImage(colorModel,
+        Raster.createWritableRaster(sampleModel, buffer, null),
+        colorModel.isAlphaPremultiplied(), null));
+    try {
+      reader.read(0, param);
+    } catch (IllegalStateException e) {
+      return false;
+    }
+    buffer.flush();
+    return true;
+  }
+
+  /**
+   * Helper function that checks if the rows of a PNG image are stored in
+   * several interlaced passes, which are not decoded in order.
+   * 
+   * @param reader the reader of the image file.
+   * @return true if the image is an interlaced PNG image.
+   * @throws IOException if the header of the file cannot be decoded.
+   */
+  private static boolean isInterlaced(ImageReader reader) throws IOException {
+    IIOMetadata metadata = reader.getImageMetadata(0);
+    if (null == metadata || !PNG_METADATA.equals(metadata.getNativeMetadataFormatName())) {
+      return false;
+    }
+    Node node = metadata.getAsTree(PNG_METADATA).getFirstChild();
+    for (; null != node; node = node.getNextSibling()) {
+      if ("IHDR".equals(node.getNodeName())) {
+        Node method = node.getAttributes().getNamedItem("interlaceMethod");
+        return null != method && !"none".equals(method.getNodeValue());
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Helper function that finds the number of data elements in a row of a
+   * single bank sample model.
+   * 
+   * @param sampleModel the sample model of the image.
+   * @return the number of data elements in a row, or 0 for other sample models.
+   */
+  private static int getScanlineStride(SampleModel sampleModel) {
+    if (sampleModel instanceof ComponentSampleModel) {
+      for (int bank : ((ComponentSampleModel) sampleModel).getBankIndices()) {
+        if (bank != 0) {
+          return 0;
+        }
+      }
+      return ((ComponentSampleModel) sampleModel).getScanlineStride();
+    } else if (sampleModel instanceof SinglePixelPackedSampleModel) {
+      return ((SinglePixelPackedSampleModel) sampleModel).getScanlineStride();
+    } else if (sampleModel instanceof MultiPixelPackedSampleModel) {
+      return ((MultiPixelPackedSampleModel) sampleModel).getScanlineStride();
+    }
+    return 0;
+  }
+
+  /**
+   * Helper function that decodes an image one band region at a time.
+   * 
+   * @param reader   the reader of the image file.
+   * @param bandRows the number of rows of a band.
+   * @param output   the destination of the bands.
+   * @throws IOException if the file cannot be decoded.
+   */
+  private static void readRegions(ImageReader reader, int bandRows, RowWriter output)
+      throws IOException {
+    int width = reader.getWidth(0);
+    int height = reader.getHeight(0);
+    ImageReadParam param = reader.getDefaultReadParam();
+    for (int row = 0; row < height; row += bandRows) {
+      int rows = Math.min(bandRows, height - row);
+      param.setSourceRegion(new Rectangle(0, row, width, rows));
+      output.writeRows(row, rows, getPixels(reader.read(0, param)));
+    }
+  }
+
+  /**
+   * Class which represents the data buffer of a whole image which only keeps
+   * one band of rows. The decoder writes the rows of the image in order, and
+   * the band is converted and written out whenever a row past it is written.
+   */
+  private static class BandBuffer extends DataBuffer {
 
-    FileInputStream fi = new FileInputStream(filename);
-    BufferedImage input = ImageIO.read(fi);
-    fi.close();
+    private final DataBuffer band;
+    private final BufferedImage bandImage;
+    private final int stride;
+    private final int bandRows;
+    private final int height;
+    private final RowWriter output;
+    private int firstRow;
 
-    return input.getHeight();
+    BandBuffer(SampleModel bandModel, ColorModel colorModel, int stride, int height,
+        RowWriter output) {
+      super(bandModel.getDataType(), stride * height);
+      this.band = bandModel.createDataBuffer();
+      this.bandImage = new BufferedImage(colorModel,
+          Raster.createWritableRaster(bandModel, band, null), colorModel.isAlphaPremultiplied(),
+          null);
+      this.stride = stride;
+      this.bandRows = bandModel.getHeight();
+      this.height = height;
+      this.output = output;
+    }
+
+    @Override
+    public int getElem(int bank, int i) {
+      int row = getRow(i);
+      return row < firstRow + bandRows ? band.getElem(i - firstRow * stride) : 0;
+    }
+
+    @Override
+    public void setElem(int bank, int i, int val) {
+      int row = getRow(i);
+      while (row >= firstRow + bandRows) {
+        flush();
+      }
+      band.setElem(i - firstRow * stride, val);
+    }
+
+    private int getRow(int i) {
+      int row = i / stride;
+      if (row < firstRow) {
+        throw new IllegalStateException("Rows are not decoded in order.");
+      }
+      return row;
+    }
+
+    /**
+     * Writes out the current band and moves to the next one.
+     */
+    void flush() {
+      if (firstRow < height) {
+        output.writeRows(firstRow, Math.min(bandRows, height - firstRow), getPixels(bandImage));
+        firstRow += bandRows;
+      }
+    }
+  }
+
+  /**
+   * Helper function that finds the subsampling step which keeps a length of
+   * the image at least as large as the target length.
+   * 
+   * @param length the length of the image.
+   * @param target the minimum length after subsampling, or 0 for no limit.
+   * @return the subsampling step.
+   */
+  private static int getStep(int length, int target) {
+    if (target == 0) {
+      return Integer.MAX_VALUE;
+    }
+    return Math.max(1, length / target);
   }
 
   /**
@@ -60,26 +429,125 @@ public final class ImageUtilities {
    * @throws IOException if the file cannot be found.
    */
   public static int[][][] readImage(String filename) throws IOException {
-    checkFilename(filename);
-
-    FileInputStream fi = new FileInputStream(filename);
-    BufferedImage input = ImageIO.read(fi);
-    fi.close();
+    BufferedImage input = read(filename);
+    int width = input.getWidth();
+    int height = input.getHeight();
+    int[] pixels = getPixels(input);
 
-    int[][][] result = new int[input.getHeight()][input.getWidth()][3];
+    int[][][] result = new int[height][width][];
 
-    for (int i = 0; i < input.getHeight(); i++) {
-      for (int j = 0; j < input.getWidth(); j++) {
-        int color = input.getRGB(j, i);
-        Color c = new Color(color);
-        result[i][j][Channel.RED.ordinal()] = c.getRed();
-        result[i][j][Channel.GREEN.ordinal()] = c.getGreen();
-        result[i][j][Channel.BLUE.ordinal()] = c.getBlue();
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        int color = pixels[i * width + j];
+        result[i][j] = new int[] { (color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF };
       }
     }
     return result;
   }
 
+  /**
+   * Reads the pixels of an image in bulk. The samples are copied straight from
+   * the data buffer of the image for packed integer RGB, interleaved 8 bit RGB
+   * with or without alpha and 8 bit greyscale images, and the other types of
+   * images are converted row by row. The result is the same as the value of
+   * {@link BufferedImage#getRGB(int, int)} without the alpha channel.
+   * 
+   * @param input the image to read.
+   * @return an array containing the packed 0xRRGGBB value of every pixel in
+   *         row-major order.
+   */
+  public static int[] getPixels(BufferedImage input) {
+    if (input == null) {
+      throw new IllegalArgumentException("image cannot be null");
+    }
+    int width = input.getWidth();
+    int height = input.getHeight();
+    int[] pixels = new int[width * height];
+    Raster raster = input.getRaster();
+    ColorModel colorModel = input.getColorModel();
+    DataBuffer buffer = raster.getDataBuffer();
+    boolean direct = buffer.getNumBanks() == 1 && raster.getSampleModelTranslateX() == 0
+        && raster.getSampleModelTranslateY() == 0 && !colorModel.isAlphaPremultiplied();
+
+    if (direct && buffer instanceof DataBufferInt
+        && (input.getType() == BufferedImage.TYPE_INT_RGB
+            || input.getType() == BufferedImage.TYPE_INT_ARGB)) {
+      readPacked(((DataBufferInt) buffer).getData(), buffer.getOffset(),
+          (SinglePixelPackedSampleModel) raster.getSampleModel(), width, height, pixels);
+    } else if (direct && buffer instanceof DataBufferByte
+        && colorModel instanceof ComponentColorModel
+        && raster.getSampleModel() instanceof ComponentSampleModel
+        && colorModel.getComponentSize(0) == 8) {
+      ComponentSampleModel sampleModel = (ComponentSampleModel) raster.getSampleModel();
+      byte[] data = ((DataBufferByte) buffer).getData();
+      if (colorModel.getColorSpace().isCS_sRGB() && colorModel.getNumColorComponents() == 3) {
+        readInterleaved(data, buffer.getOffset(), sampleModel, width, height, pixels);
+      } else if (colorModel.getNumComponents() == 1) {
+        readGrey(data, buffer.getOffset(), sampleModel, colorModel, width, height, pixels);
+      } else {
+        input.getRGB(0, 0, width, height, pixels, 0, width);
+      }
+    } else {
+      for (int i = 0; i < height; i++) {
+        input.getRGB(0, i, width, 1, pixels, i * width, width);
+      }
+    }
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] &= 0xFFFFFF;
+    }
+    return pixels;
+  }
+
+  private static void readPacked(int[] data, int offset, SinglePixelPackedSampleModel sampleModel,
+      int width, int height, int[] pixels) {
+    int stride = sampleModel.getScanlineStride();
+    for (int i = 0; i < height; i++) {
+      System.arraycopy(data, offset + i * stride, pixels, i * width, width);
+    }
+  }
+
+  private static void readInterleaved(byte[] data, int offset, ComponentSampleModel sampleModel,
+      int width, int height, int[] pixels) {
+    int stride = sampleModel.getScanlineStride();
+    int pixelStride = sampleModel.getPixelStride();
+    int[] bands = sampleModel.getBandOffsets();
+    int red = bands[0];
+    int green = bands[1];
+    int blue = bands[2];
+    for (int i = 0; i < height; i++) {
+      int index = offset + i * stride;
+      int row = i * width;
+      for (int j = 0; j < width; j++) {
+        pixels[row + j] = (data[index + red] & 0xFF) << 16 | (data[index + green] & 0xFF) << 8
+            | (data[index + blue] & 0xFF);
+        index += pixelStride;
+      }
+    }
+  }
+
+  private static void readGrey(byte[] data, int offset, ComponentSampleModel sampleModel,
+      ColorModel colorModel, int width, int height, int[] pixels) {
+    // the grey color space is not sRGB, so every grey level is converted once
+    // by the color model and looked up for the pixels
+    int[] levels = new int[256];
+    byte[] level = new byte[1];
+    for (int value = 0; value < levels.length; value++) {
+      level[0] = (byte) value;
+      levels[value] = colorModel.getRGB(level);
+    }
+    int stride = sampleModel.getScanlineStride();
+    int pixelStride = sampleModel.getPixelStride();
+    int band = sampleModel.getBandOffsets()[0];
+    for (int i = 0; i < height; i++) {
+      int index = offset + i * stride + band;
+      int row = i * width;
+      for (int j = 0; j < width; j++) {
+        pixels[row + j] = levels[data[index] & 0xFF];
+        index += pixelStride;
+      }
+    }
+  }
+
   /**
    * Writes an RGB color array to a file as an image.
    * 
@@ -92,12 +560,25 @@ public final class ImageUtilities {
   public static void writeImage(int[][][] rgb, int width, int height, String filename)
       throws IOException {
     checkFilename(filename);
-    BufferedImage output = getBufferedImage(rgb, width, height);
+    writeImage(getBufferedImage(rgb, width, height), filename);
+  }
+
+  /**
+   * Writes an image to a file in the format given by the extension of the
+   * filename.
+   * 
+   * @param output   the image to write to a file.
+   * @param filename the filename of the written image file.
+   * @throws IOException if the file cannot be written to.
+   */
+  public static void writeImage(RenderedImage output, String filename) throws IOException {
+    checkFilename(filename);
+    if (output == null) {
+      throw new IllegalArgumentException("image cannot be null");
+    }
     String extension = filename.substring(filename.indexOf(".") + 1);
 
-    FileOutputStream fo = new FileOutputStream(filename);
-    ImageIO.write(output, extension, fo);
-    fo.close();
+    ImageIO.write(output, extension, new File(filename));
   }
 
   /**
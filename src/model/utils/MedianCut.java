@@ -0,0 +1,171 @@
+package model.utils;
+
+import java.util.Arrays;
+
+/**
+ * Utility class which reduces the colors of an image to a given number of
+ * representative colors using the median cut algorithm. The algorithm works on
+ * the histogram of the distinct colors of the image so that its cost depends on
+ * the number of distinct colors and not on the size of the image.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public final class MedianCut {
+
+  private MedianCut() {
+  }
+
+  /**
+   * Method used to reduce the colors of a histogram to at most the given number
+   * of colors. The box of colors with the largest number of pixels times its
+   * widest channel range is repeatedly split at the weighted median of that
+   * channel, and the weighted mean of every box is its representative color.
+   *
+   * @param histogram      which contains the distinct colors and their number
+   *                       of pixels.
+   * @param numberOfColors which is the maximum number of colors to reduce to.
+   * @return the packed RGB values of the representative colors in descending
+   *         order of the number of pixels they represent.
+   */
+  public static int[] reduce(ColorTable histogram, int numberOfColors) {
+    if (null == histogram || numberOfColors <= 0) {
+      throw new IllegalArgumentException("Invalid number of colors.");
+    }
+    int size = histogram.size();
+    if (size == 0) {
+      return new int[0];
+    }
+    int[] ids = new int[size];
+    for (int id = 0; id < size; id++) {
+      ids[id] = id;
+    }
+    int boxes = Math.min(numberOfColors, size);
+    int[] starts = new int[boxes];
+    int[] ends = new int[boxes];
+    long[] pixels = new long[boxes];
+    int[] channels = new int[boxes];
+    double[] scores = new double[boxes];
+    int count = 1;
+    starts[0] = 0;
+    ends[0] = size;
+    pixels[0] = countPixels(histogram, ids, 0, size);
+    score(histogram, ids, starts, ends, pixels, channels, scores, 0);
+    while (count < boxes) {
+      int widestBox = -1;
+      for (int box = 0; box < count; box++) {
+        if (scores[box] > 0 && (widestBox < 0 || scores[box] > scores[widestBox])) {
+          widestBox = box;
+        }
+      }
+      if (widestBox < 0) {
+        break;
+      }
+      int split = split(histogram, ids, starts[widestBox], ends[widestBox], channels[widestBox],
+          pixels[widestBox]);
+      starts[count] = split;
+      ends[count] = ends[widestBox];
+      pixels[count] = countPixels(histogram, ids, split, ends[widestBox]);
+      ends[widestBox] = split;
+      pixels[widestBox] -= pixels[count];
+      score(histogram, ids, starts, ends, pixels, channels, scores, widestBox);
+      score(histogram, ids, starts, ends, pixels, channels, scores, count);
+      count++;
+    }
+    Integer[] order = new Integer[count];
+    for (int box = 0; box < count; box++) {
+      order[box] = box;
+    }
+    Arrays.sort(order, (first, second) -> Long.compare(pixels[second], pixels[first]));
+    int[] colors = new int[count];
+    for (int position = 0; position < count; position++) {
+      int box = order[position];
+      colors[position] = meanColor(histogram, ids, starts[box], ends[box], pixels[box]);
+    }
+    return colors;
+  }
+
+  private static long countPixels(ColorTable histogram, int[] ids, int start, int end) {
+    long pixels = 0;
+    for (int position = start; position < end; position++) {
+      pixels += histogram.getCount(ids[position]);
+    }
+    return pixels;
+  }
+
+  private static void score(ColorTable histogram, int[] ids, int[] starts, int[] ends,
+      long[] pixels, int[] channels, double[] scores, int box) {
+    int[] range = channelRanges(histogram, ids, starts[box], ends[box]);
+    channels[box] = range[0] >= range[1] && range[0] >= range[2] ? 0
+        : range[1] >= range[2] ? 1 : 2;
+    scores[box] = (double) pixels[box] * range[channels[box]];
+  }
+
+  private static int[] channelRanges(ColorTable histogram, int[] ids, int start, int end) {
+    int[] minimum = { 255, 255, 255 };
+    int[] maximum = { 0, 0, 0 };
+    for (int position = start; position < end; position++) {
+      int rgb = histogram.getColor(ids[position]);
+      for (int channel = 0; channel < 3; channel++) {
+        int value = channel(rgb, channel);
+        minimum[channel] = Math.min(minimum[channel], value);
+        maximum[channel] = Math.max(maximum[channel], value);
+      }
+    }
+    return new int[] { maximum[0] - minimum[0], maximum[1] - minimum[1],
+        maximum[2] - minimum[2] };
+  }
+
+  private static int split(ColorTable histogram, int[] ids, int start, int end, int channel,
+      long pixels) {
+    long[] weights = new long[256];
+    int maximum = 0;
+    for (int position = start; position < end; position++) {
+      int value = channel(histogram.getColor(ids[position]), channel);
+      weights[value] += histogram.getCount(ids[position]);
+      maximum = Math.max(maximum, value);
+    }
+    long half = (pixels + 1) / 2;
+    long cumulative = 0;
+    int median = 0;
+    while (median < maximum - 1) {
+      cumulative += weights[median];
+      if (cumulative >= half) {
+        break;
+      }
+      median++;
+    }
+    int low = start;
+    int high = end - 1;
+    while (low <= high) {
+      if (channel(histogram.getColor(ids[low]), channel) <= median) {
+        low++;
+      } else {
+        int swap = ids[low];
+        ids[low] = ids[high];
+        ids[high] = swap;
+        high--;
+      }
+    }
+    return low;
+  }
+
+  private static int meanColor(ColorTable histogram, int[] ids, int start, int end,
+      long pixels) {
+    long[] sums = new long[3];
+    for (int position = start; position < end; position++) {
+      int rgb = histogram.getColor(ids[position]);
+      int count = histogram.getCount(ids[position]);
+      for (int channel = 0; channel < 3; channel++) {
+        sums[channel] += (long) channel(rgb, channel) * count;
+      }
+    }
+    return ColorTable.pack((int) Math.round((double) sums[0] / pixels),
+        (int) Math.round((double) sums[1] / pixels),
+        (int) Math.round((double) sums[2] / pixels));
+  }
+
+  private static int channel(int rgb, int channel) {
+    return (rgb >> (16 - 8 * channel)) & 0xFF;
+  }
+}
@@ -0,0 +1,334 @@
+package model.utils;
+
+import model.image.Image;
+import model.image.MappedImage;
+import model.image.RasterImage;
+import model.image.TiledImage;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Utility class which reads and writes images in the binary PPM (P6) and PAM
+ * (P7) formats of the Netpbm family. The raster bytes are moved between the
+ * file and the image through a direct buffer in large blocks, so no image
+ * encoder is involved. The filename {@link #STANDARD_STREAM} stands for the
+ * standard input when reading and the standard output when writing.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public final class NetpbmCodec {
+
+  /** The filename which stands for the standard input or output. */
+  public static final String STANDARD_STREAM = "-";
+
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  /** The largest number of bytes of a row which fits in an array. */
+  private static final long MAXIMUM_ROW_BYTES = Integer.MAX_VALUE - 8;
+
+  private NetpbmCodec() {
+  }
+
+  /**
+   * Method used to check if an image file is to be read or written by this
+   * codec. The files with the extension ppm or pam and the standard streams are
+   * handled by the codec.
+   *
+   * @param filename which is the location of the image file.
+   * @return true if the file is handled by the codec.
+   */
+  public static boolean isNetpbm(String filename) {
+    if (null == filename) {
+      return false;
+    }
+    String name = filename.toLowerCase(Locale.ROOT);
+    return name.equals(STANDARD_STREAM) || name.endsWith(".ppm") || name.endsWith(".pam");
+  }
+
+  /**
+   * Method used to read a PPM or PAM image. Greyscale images are read as grey
+   * colors, the alpha channel is ignored and samples with a maximum value other
+   * than 255 are scaled to the range 0 to 255. An image which is too large for
+   * the memory of the program is read into a {@link MappedImage}.
+   *
+   * @param filename which is the location of the image file.
+   * @return the {@link Image} of the file.
+   * @throws IOException if unable to read the file.
+   */
+  public static Image read(String filename) throws IOException {
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Filename cannot be empty.");
+    }
+    boolean standardInput = STANDARD_STREAM.equals(filename);
+    ReadableByteChannel channel = null;
+    try {
+      channel = standardInput ? Channels.newChannel(System.in)
+          : FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+      return read(new Input(channel));
+    } catch (IOException | NumberFormatException e) {
+      throw new IOException("Unable to read file.");
+    } finally {
+      if (null != channel && !standardInput) {
+        channel.close();
+      }
+    }
+  }
+
+  private static Image read(Input input) throws IOException {
+    if (input.next() != 'P') {
+      throw new IOException("Unsupported image format.");
+    }
+    int format = input.next();
+    int width = 0;
+    int height = 0;
+    int depth = 0;
+    int maximum = 0;
+    if (format == '6') {
+      width = Integer.parseInt(input.token());
+      height = Integer.parseInt(input.token());
+      maximum = Integer.parseInt(input.token());
+      depth = 3;
+    } else if (format == '7') {
+      for (String token = input.token(); !token.equals("ENDHDR"); token = input.token()) {
+        if (token.equals("WIDTH")) {
+          width = Integer.parseInt(input.token());
+        } else if (token.equals("HEIGHT")) {
+          height = Integer.parseInt(input.token());
+        } else if (token.equals("DEPTH")) {
+          depth = Integer.parseInt(input.token());
+        } else if (token.equals("MAXVAL")) {
+          maximum = Integer.parseInt(input.token());
+        } else {
+          input.skipLine();
+        }
+      }
+    }
+    if (width <= 0 || height <= 0 || depth < 1 || depth > 4 || maximum < 1
+        || maximum > 65535) {
+      throw new IOException("Unsupported image format.");
+    }
+
+    int[] levels = new int[maximum + 1];
+    for (int value = 0; value <= maximum; value++) {
+      levels[value] = (value * 255 + maximum / 2) / maximum;
+    }
+    int bytesPerSample = maximum < 256 ? 1 : 2;
+    long rowBytes = (long) width * depth * bytesPerSample;
+    if (rowBytes > MAXIMUM_ROW_BYTES) {
+      throw new IOException("Unsupported image format.");
+    }
+    byte[] row = new byte[(int) rowBytes];
+    if (MappedImage.isNeeded(width, height)) {
+      MappedImage image = new MappedImage(width, height);
+      int bandRows = Math.min(height, image.getBandRows());
+      int[] band = new int[width * bandRows];
+      for (int i = 0; i < height; i += bandRows) {
+        int rows = Math.min(bandRows, height - i);
+        for (int k = 0; k < rows; k++) {
+          input.read(row);
+          toPixels(row, band, k * width, width, depth, bytesPerSample, levels);
+        }
+        image.writeRows(i, rows, band);
+      }
+      return image;
+    }
+    RasterImage image = new RasterImage(width, height);
+    int[] pixels = image.getPixels();
+    for (int i = 0; i < height; i++) {
+      input.read(row);
+      toPixels(row, pixels, i * width, width, depth, bytesPerSample, levels);
+    }
+    return image;
+  }
+
+  private static void toPixels(byte[] row, int[] pixels, int offset, int width, int depth,
+      int bytesPerSample, int[] levels) {
+    if (depth >= 3 && bytesPerSample == 1 && levels.length == 256) {
+      for (int j = 0, index = 0; j < width; j++, index += depth) {
+        pixels[offset + j] = (row[index] & 0xFF) << 16 | (row[index + 1] & 0xFF) << 8
+            | (row[index + 2] & 0xFF);
+      }
+      return;
+    }
+    int step = depth * bytesPerSample;
+    int colors = depth >= 3 ? 3 : 1;
+    int[] color = new int[3];
+    for (int j = 0, index = 0; j < width; j++, index += step) {
+      for (int c = 0; c < colors; c++) {
+        int sample = row[index + c * bytesPerSample] & 0xFF;
+        if (bytesPerSample == 2) {
+          sample = sample << 8 | (row[index + c * bytesPerSample + 1] & 0xFF);
+        }
+        color[c] = levels[Math.min(sample, levels.length - 1)];
+      }
+      if (colors == 1) {
+        color[1] = color[0];
+        color[2] = color[0];
+      }
+      pixels[offset + j] = color[0] << 16 | color[1] << 8 | color[2];
+    }
+  }
+
+  /**
+   * Method used to write an image as a PPM image, or as a PAM image if the
+   * extension of the filename is pam. An image stored in tiles is written one
+   * band of rows at a time.
+   *
+   * @param image    which is the image to be written.
+   * @param filename which is the location where the file is to be saved.
+   * @throws IOException if the file cannot be written to.
+   */
+  public static void write(Image image, String filename) throws IOException {
+    if (null == image) {
+      throw new IllegalArgumentException("image cannot be null");
+    }
+    if (null == filename || filename.isBlank()) {
+      throw new IllegalArgumentException("Filename cannot be empty.");
+    }
+    int width = image.getWidth();
+    int height = image.getHeight();
+    String header = filename.toLowerCase(Locale.ROOT).endsWith(".pam")
+        ? "P7\nWIDTH " + width + "\nHEIGHT " + height
+            + "\nDEPTH 3\nMAXVAL 255\nTUPLTYPE RGB\nENDHDR\n"
+        : "P6\n" + width + " " + height + "\n255\n";
+
+    boolean standardOutput = STANDARD_STREAM.equals(filename);
+    WritableByteChannel channel;
+    if (standardOutput) {
+      System.out.flush();
+      channel = new FileOutputStream(FileDescriptor.out).getChannel();
+    } else {
+      channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+    try {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      put(channel, buffer, header.getBytes(StandardCharsets.US_ASCII));
+      TiledImage tiledImage = image instanceof TiledImage ? (TiledImage) image : null;
+      int bandRows = null == tiledImage ? height : Math.min(height, tiledImage.getBandRows());
+      int[] pixels = null == tiledImage ? RasterImage.of(image).getPixels()
+          : new int[width * bandRows];
+      byte[] row = new byte[width * 3];
+      for (int i = 0; i < height; i += bandRows) {
+        int rows = Math.min(bandRows, height - i);
+        if (null != tiledImage) {
+          tiledImage.readRows(i, rows, pixels);
+        }
+        for (int k = 0; k < rows; k++) {
+          int offset = (null == tiledImage ? i + k : k) * width;
+          for (int j = 0, index = 0; j < width; j++, index += 3) {
+            int rgb = pixels[offset + j];
+            row[index] = (byte) (rgb >> 16);
+            row[index + 1] = (byte) (rgb >> 8);
+            row[index + 2] = (byte) rgb;
+          }
+          put(channel, buffer, row);
+        }
+      }
+      flush(channel, buffer);
+    } finally {
+      if (!standardOutput) {
+        channel.close();
+      }
+    }
+  }
+
+  private static void put(WritableByteChannel channel, ByteBuffer buffer, byte[] bytes)
+      throws IOException {
+    for (int offset = 0; offset < bytes.length;) {
+      if (!buffer.hasRemaining()) {
+        flush(channel, buffer);
+      }
+      int length = Math.min(buffer.remaining(), bytes.length - offset);
+      buffer.put(bytes, offset, length);
+      offset += length;
+    }
+  }
+
+  private static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Class which reads the bytes of an image from a channel through a direct
+   * buffer.
+   */
+  private static class Input {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    private Input(ReadableByteChannel channel) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      this.buffer.flip();
+    }
+
+    private boolean fill() throws IOException {
+      buffer.compact();
+      int count = channel.read(buffer);
+      buffer.flip();
+      return count > 0 || buffer.hasRemaining();
+    }
+
+    private int next() throws IOException {
+      if (!buffer.hasRemaining() && !fill()) {
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    private String token() throws IOException {
+      int value = next();
+      while (value == '#' || Character.isWhitespace(value)) {
+        if (value == '#') {
+          skipLine();
+        }
+        value = next();
+      }
+      StringBuilder token = new StringBuilder();
+      while (value != -1 && !Character.isWhitespace(value)) {
+        token.append((char) value);
+        value = next();
+      }
+      if (token.length() == 0) {
+        throw new IOException("Unsupported image format.");
+      }
+      return token.toString();
+    }
+
+    private void skipLine() throws IOException {
+      int value = next();
+      while (value != '\n' && value != -1) {
+        value = next();
+      }
+    }
+
+    private void read(byte[] bytes) throws IOException {
+      for (int offset = 0; offset < bytes.length;) {
+        if (!buffer.hasRemaining() && !fill()) {
+          throw new IOException("Unexpected end of file.");
+        }
+        int length = Math.min(buffer.remaining(), bytes.length - offset);
+        buffer.get(bytes, offset, length);
+        offset += length;
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package model.utils;
+
+import model.image.RasterImage;
+
+import java.util.Arrays;
+
+/**
+ * Implementation class of the {@link Convolution} interface for a filter
+ * matrix which is the product of a column and a row of weights. Every row of
+ * the image is filtered horizontally with the row of weights into a buffer of
+ * rows which is reused, and the buffered rows are then filtered vertically
+ * with the column of weights, so every pixel takes twice the size of the filter
+ * instead of its square. The channels are kept as floating point numbers
+ * between the passes and are rounded once at the end.
+ *
+ * @author Jaswin Gumpella
+ *
+ */
+public final class SeparableConvolution implements Convolution {
+
+  private final float[] columnWeights;
+  private final float[] rowWeights;
+  private final int size;
+  private final int radius;
+  private final BorderMode border;
+
+  /**
+   * Constructor for the {@link SeparableConvolution} class which takes the
+   * column and the row of weights of the filter and the way the pixels outside
+   * of the image are treated as input.
+   *
+   * @param column which is the column of weights with an odd size.
+   * @param row    which is the row of weights with the size of the column.
+   * @param border which is the way the pixels outside of the image are treated.
+   */
+  public SeparableConvolution(double[] column, double[] row, BorderMode border) {
+    if (null == column || null == row || column.length % 2 == 0
+        || column.length != row.length) {
+      throw new IllegalArgumentException("Invalid filter matrix.");
+    }
+    if (null == border) {
+      throw new IllegalArgumentException("Invalid border mode.");
+    }
+    this.size = column.length;
+    this.radius = size / 2;
+    this.border = border;
+    this.columnWeights = new float[size];
+    this.rowWeights = new float[size];
+    for (int i = 0; i < size; i++) {
+      columnWeights[i] = (float) column[i];
+      rowWeights[i] = (float) row[i];
+    }
+  }
+
+  @Override
+  public int getRadius() {
+    return radius;
+  }
+
+  @Override
+  public void filterRows(int[] pixels, int sourceRow, int[] filtered, int row, int rows,
+      int width, int height) {
+    int[] columns = new int[width + 2 * radius];
+    for (int column = 0; column < columns.length; column++) {
+      columns[column] = border.getIndex(column - radius, width);
+    }
+    float[][] channels = new float[3][columns.length];
+    float[] red = new float[size * width];
+    float[] green = new float[size * width];
+    float[] blue = new float[size * width];
+    int[] bufferedRows = new int[size];
+    Arrays.fill(bufferedRows, -1);
+    float[] redTotal = new float[width];
+    float[] greenTotal = new float[width];
+    float[] blueTotal = new float[width];
+    for (int i = row; i < row + rows; i++) {
+      Arrays.fill(redTotal, 0);
+      Arrays.fill(greenTotal, 0);
+      Arrays.fill(blueTotal, 0);
+      for (int x = 0; x < size; x++) {
+        int filterRow = border.getIndex(i + x - radius, height);
+        if (filterRow < 0) {
+          continue;
+        }
+        int offset = filterRow % size * width;
+        if (bufferedRows[filterRow % size] != filterRow) {
+          filterRow(pixels, (filterRow - sourceRow) * width, columns, channels, red, green,
+              blue, offset, width);
+          bufferedRows[filterRow % size] = filterRow;
+        }
+        float weight = columnWeights[x];
+        for (int j = 0; j < width; j++) {
+          redTotal[j] += weight * red[offset + j];
+          greenTotal[j] += weight * green[offset + j];
+          blueTotal[j] += weight * blue[offset + j];
+        }
+      }
+      int offset = (i - row) * width;
+      for (int j = 0; j < width; j++) {
+        filtered[offset + j] = RasterImage.pack(Math.round(redTotal[j]),
+            Math.round(greenTotal[j]), Math.round(blueTotal[j]));
+      }
+    }
+  }
+
+  /**
+   * Helper method which filters a row of the image horizontally into the
+   * buffer of rows. The row is first split into its channels and extended at
+   * the borders, so every weight is applied to the whole row in a loop without
+   * branches. The weights are still added in the same order for every pixel.
+   */
+  private void filterRow(int[] pixels, int rowOffset, int[] columns, float[][] channels,
+      float[] red, float[] green, float[] blue, int offset, int width) {
+    for (int column = 0; column < columns.length; column++) {
+      int rgb = columns[column] < 0 ? 0 : pixels[rowOffset + columns[column]];
+      channels[0][column] = RasterImage.red(rgb);
+      channels[1][column] = RasterImage.green(rgb);
+      channels[2][column] = RasterImage.blue(rgb);
+    }
+    Arrays.fill(red, offset, offset + width, 0);
+    Arrays.fill(green, offset, offset + width, 0);
+    Arrays.fill(blue, offset, offset + width, 0);
+    for (int y = 0; y < size; y++) {
+      addWeight(channels[0], y, rowWeights[y], red, offset, width);
+      addWeight(channels[1], y, rowWeights[y], green, offset, width);
+      addWeight(channels[2], y, rowWeights[y], blue, offset, width);
+    }
+  }
+
+  private static void addWeight(float[] channel, int shift, float weight, float[] total,
+      int offset, int width) {
+    for (int j = 0; j < width; j++) {
+      total[offset + j] += weight * channel[j + shift];
+    }
+  }
+}
@@ -44,16 +44,17 @@ public class CrossStitchPatternPanel extends JFrame {
     frame = new JFrame();
     JPanel imagePanel = new JPanel();
     colorPalette = feature.displayImageFlossColors();
+    char[][] symbols = feature.displayPatternSymbols();
     BufferedImage image = feature.displayImage();
     imagePanel.setLayout(new GridLayout(image.getHeight(), image.getWidth()));
     for (int i = 0; i < image.getHeight(); i++) {
       for (int j = 0; j < image.getWidth(); j++) {
-        int[] color = feature.getPixelColors(i, j);
-        Character legend = getLegendForColor(color);
+        Color color = new Color(image.getRGB(j, i));
+        Character legend = getLegendForColor(color, symbols[i][j]);
         JButton button = new JButton(String.valueOf(legend));
         button.setPreferredSize(new Dimension(0, 0));
         button.setFocusable(false);
-        button.setBackground(new Color(color[0], color[1], color[2]));
+        button.setBackground(color);
         imagePanel.add(button);
         setButtonAction(button, feature);
       }
@@ -65,23 +66,19 @@ public class CrossStitchPatternPanel extends JFrame {
     frame.setVisible(true);
   }
 
-  private Character getLegendForColor(int[] color) {
+  private Character getLegendForColor(Color color, char symbol) {
     if (null == color) {
       throw new IllegalArgumentException();
     }
-    if (color[0] == 255 && color[1] == 255 && color[2] == 255) {
+    if (color.getRed() == 255 && color.getGreen() == 255 && color.getBlue() == 255) {
       return '.';
-    } else {
-      Character legend = '.';
-      for (Character c : colorPalette.keySet()) {
-        int[] colorChannel = colorPalette.get(c);
-        if (colorChannel[0] == color[0] && colorChannel[1] == color[1]
-            && colorChannel[2] == color[2]) {
-          legend = c;
-        }
-      }
-      return legend;
     }
+    int[] colorChannel = colorPalette.get(symbol);
+    if (null != colorChannel && colorChannel[0] == color.getRed()
+        && colorChannel[1] == color.getGreen() && colorChannel[2] == color.getBlue()) {
+      return symbol;
+    }
+    return '.';
   }
 
   private void setButtonAction(JButton button, ImageFeatures feature) {
@@ -51,15 +51,21 @@ public class ImageViewImpl implements ImageView {
   private JMenuItem saveItem;
   private JMenuItem saveToTextItem;
   private JMenuItem blurItem;
+  private JMenuItem boxBlurItem;
+  private JMenuItem gaussianBoxBlurItem;
   private JMenuItem sharpenItem;
   private JMenuItem greyscaleItem;
   private JMenuItem sepiatoneItem;
   private JMenuItem colorDitherItem;
+  private JMenuItem flossDitherItem;
+  private JMenuItem limitedPatternItem;
   private JMenuItem greyscaleDitherItem;
   private JMenuItem mosaicItem;
   private JMenuItem pixelateItem;
   private JMenuItem mosaicPatternItem;
   private JMenuItem pixelatePatternItem;
+  private JMenuItem threadsItem;
+  private JMenuItem patternMatchingItem;
   private JPanel contentPane;
   private BufferedImage image;
   private JFrame frame;
@@ -167,6 +173,10 @@ public class ImageViewImpl implements ImageView {
     JMenu featureSubmenu = new JMenu("Features");
     blurItem = new JMenuItem("Blur");
     featureSubmenu.add(blurItem);
+    boxBlurItem = new JMenuItem("Box Blur");
+    featureSubmenu.add(boxBlurItem);
+    gaussianBoxBlurItem = new JMenuItem("Fast Gaussian Blur");
+    featureSubmenu.add(gaussianBoxBlurItem);
     sharpenItem = new JMenuItem("Sharpen");
     featureSubmenu.add(sharpenItem);
     greyscaleItem = new JMenuItem("Greyscale");
@@ -185,7 +195,17 @@ public class ImageViewImpl implements ImageView {
     featureSubmenu.add(mosaicPatternItem);
     pixelatePatternItem = new JMenuItem("Pixelate Pattern");
     featureSubmenu.add(pixelatePatternItem);
+    flossDitherItem = new JMenuItem("Floss Dither Pattern");
+    featureSubmenu.add(flossDitherItem);
+    limitedPatternItem = new JMenuItem("Limited Colors Pattern");
+    featureSubmenu.add(limitedPatternItem);
     menu.add(featureSubmenu);
+    JMenu settingsSubmenu = new JMenu("Settings");
+    threadsItem = new JMenuItem("Number of Threads");
+    settingsSubmenu.add(threadsItem);
+    patternMatchingItem = new JMenuItem("Pattern Color Matching");
+    settingsSubmenu.add(patternMatchingItem);
+    menu.add(settingsSubmenu);
     frame.setJMenuBar(menu);
   }
 
@@ -197,6 +217,7 @@ public class ImageViewImpl implements ImageView {
     setLoadAction(feature);
     setSaveAction(feature);
     setBlurAction(feature);
+    setBoxBlurAction(feature);
     setSharpenAction(feature);
     setGreyscaleAction(feature);
     setSepiatoneAction(feature);
@@ -206,7 +227,11 @@ public class ImageViewImpl implements ImageView {
     setPixelateAction(feature);
     setMosaicPatternAction(feature);
     setPixelatePatternAction(feature);
+    setFlossDitherAction(feature);
+    setLimitedPatternAction(feature);
     setSaveToTextAction(feature);
+    setThreadsAction(feature);
+    setPatternMatchingAction(feature);
     setClearAction();
     setLoadBatchAction(feature);
     setApplyAction(feature);
@@ -311,6 +336,31 @@ public class ImageViewImpl implements ImageView {
     });
   }
 
+  private void setThreadsAction(ImageFeatures feature) {
+    threadsItem.addActionListener(l -> {
+      String inputText = getInput("Please enter number of threads to process images with");
+      try {
+        showOutput(feature.setParallelism(inputText));
+      } catch (IOException | IllegalArgumentException e) {
+        showOutput(e.getMessage());
+      }
+    });
+  }
+
+  private void setPatternMatchingAction(ImageFeatures feature) {
+    patternMatchingItem.addActionListener(l -> {
+      String[] options = { "Redmean", "CIE76", "CIEDE2000" };
+      String[] metrics = { "", "lab76", "lab" };
+      int option = JOptionPane.showOptionDialog(null,
+          "Select how colors are matched to dmc colors in patterns", "Pattern Color Matching",
+          JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, 0);
+      if (option >= 0) {
+        feature.setPatternMetric(metrics[option]);
+        showOutput("Pattern color matching set to " + options[option] + "\n");
+      }
+    });
+  }
+
   private void setPixelatePatternAction(ImageFeatures feature) {
     pixelatePatternItem.addActionListener(l -> {
       String inputText = getInput("Please enter number of squares to apply pixelation pattern");
@@ -378,6 +428,31 @@ public class ImageViewImpl implements ImageView {
     });
   }
 
+  private void setLimitedPatternAction(ImageFeatures feature) {
+    limitedPatternItem.addActionListener(l -> {
+      String inputText = getInput("Please enter the maximum number of dmc colors of the pattern");
+      try {
+        showOutput(feature.patternImage(inputText));
+        image = feature.displayImage();
+        showImage(image);
+      } catch (IOException | IllegalArgumentException e) {
+        showOutput(e.getMessage());
+      }
+    });
+  }
+
+  private void setFlossDitherAction(ImageFeatures feature) {
+    flossDitherItem.addActionListener(l -> {
+      try {
+        showOutput(feature.flossDitherImage());
+        image = feature.displayImage();
+        showImage(image);
+      } catch (IOException e) {
+        showOutput(e.getMessage());
+      }
+    });
+  }
+
   private void setColorDitherAction(ImageFeatures feature) {
     colorDitherItem.addActionListener(l -> {
       String inputText = getInput("Please enter number of colors to apply dithering");
@@ -439,6 +514,29 @@ public class ImageViewImpl implements ImageView {
     });
   }
 
+  private void setBoxBlurAction(ImageFeatures feature) {
+    boxBlurItem.addActionListener(l -> {
+      String inputText = getInput("Please enter the radius of the box blur");
+      try {
+        showOutput(feature.boxBlurImage(inputText, false));
+        image = feature.displayImage();
+        showImage(image);
+      } catch (IOException | IllegalArgumentException e) {
+        showOutput(e.getMessage());
+      }
+    });
+    gaussianBoxBlurItem.addActionListener(l -> {
+      String inputText = getInput("Please enter the radius of the gaussian blur");
+      try {
+        showOutput(feature.boxBlurImage(inputText, true));
+        image = feature.displayImage();
+        showImage(image);
+      } catch (IOException | IllegalArgumentException e) {
+        showOutput(e.getMessage());
+      }
+    });
+  }
+
   private void setSaveAction(ImageFeatures feature) {
     saveItem.addActionListener(l -> {
       String filename = setFilename();
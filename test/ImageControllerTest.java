@@ -2,6 +2,7 @@ import static org.junit.Assert.assertEquals;
 
 import controller.ImageController;
 import controller.ImageControllerImpl;
+import model.ImageProcessingModelImpl;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -43,6 +44,23 @@ public class ImageControllerTest {
     assertEquals("mock load successful\n" + "load successful\n", log.toString());
   }
 
+  /**
+   * Test method for load command with a size and region.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testLoadCommandWithSize() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg 300x 10,20,100,50\n"
+        + "load res/sample1.jpg x200\n" + "load res/sample1.jpg large");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load 300x0 10,20,100,50 successful\n" + "load successful\n"
+        + "mock load 0x200 successful\n" + "load successful\n" + "load failed\n"
+        + "Invalid load arguments.", log.toString());
+  }
+
   /**
    * Test method for command with invalid load.
    * 
@@ -87,6 +105,120 @@ public class ImageControllerTest {
         + "sharpen successful\n", log.toString());
   }
 
+  /**
+   * Test method for blur command with the treatment of the pixels outside the
+   * image.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testBlurCommandWithBorder() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "blur clamp\n" + "sharpen mirror");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "mock blur clamp successful\n"
+        + "blur successful\n" + "mock sharpen mirror successful\n" + "sharpen successful\n",
+        log.toString());
+  }
+
+  /**
+   * Test method for blur and sharpen commands with the pixels outside the image
+   * treated as black explicitly.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testBlurCommandWithZeroBorder() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "blur zero\n" + "sharpen zero");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "mock blur zero successful\n"
+        + "blur successful\n" + "mock sharpen zero successful\n" + "sharpen successful\n",
+        log.toString());
+  }
+
+  /**
+   * Test method for blur command with the radius of a gaussian blur filter.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testBlurCommandWithRadius() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "blur 5\n" + "blur 20 mirror\n"
+        + "blur 0");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "mock blur 5 successful\n"
+        + "blur successful\n" + "mock blur 20 successful\n" + "blur successful\n"
+        + "blur failed\n" + "Invalid blur radius.", log.toString());
+  }
+
+  /**
+   * Test method for blur command whose radius is not a number.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testBlurCommandWithInvalidRadius() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "blur abc clamp\n"
+        + "blur 99999999999");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "blur failed\n"
+        + "Invalid blur radius." + "blur failed\n" + "Invalid blur radius.",
+        log.toString());
+  }
+
+  /**
+   * Test method for box blur command whose radius is not a number.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testBoxBlurCommandWithInvalidRadius() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "boxblur abc\n"
+        + "boxblur clamp 5");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "boxblur failed\n"
+        + "Invalid blur radius." + "boxblur failed\n" + "Invalid blur radius.",
+        log.toString());
+  }
+
+  /**
+   * Test method for box blur command with and without the gaussian
+   * approximation.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testBoxBlurCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "boxblur 50\n"
+        + "boxblur 20 gaussian clamp\n" + "boxblur");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "mock boxblur 50 successful\n"
+        + "boxblur successful\n" + "mock gaussian boxblur 20 successful\n"
+        + "boxblur successful\n" + "boxblur failed\n" + "Invalid blur radius.", log.toString());
+  }
+
+  /**
+   * Test method for sharpen command with an invalid border mode.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testSharpenCommandInvalidBorder() throws IOException {
+    Reader in = new StringReader("sharpen wrap");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("sharpen failed\n" + "Invalid border mode.", log.toString());
+  }
+
   /**
    * Test method for greyscale command.
    * 
@@ -117,6 +249,21 @@ public class ImageControllerTest {
         + "sepia successful\n", log.toString());
   }
 
+  /**
+   * Test method for flossdither command.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testFlossDitherCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "flossdither");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "mock flossdither successful\n"
+        + "flossdither successful\n", log.toString());
+  }
+
   /**
    * Test method for colordither command.
    * 
@@ -252,6 +399,110 @@ public class ImageControllerTest {
         + "pattern successful\n", log.toString());
   }
 
+  /**
+   * Test method for pattern command with perceptual color matching.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testPatternLabCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "pattern lab\n" + "pattern lab76");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n"
+        + "mock pattern ciede2000 successful\n" + "pattern successful\n"
+        + "mock pattern cie76 successful\n" + "pattern successful\n", log.toString());
+  }
+
+  /**
+   * Test method for pattern command with the redmean color matching given
+   * explicitly.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testPatternRedmeanCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "pattern redmean");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n"
+        + "mock pattern redmean successful\n" + "pattern successful\n", log.toString());
+  }
+
+  /**
+   * Test method for pattern command with a limited number of colors.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testPatternNumberOfColorsCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "pattern 20\n" + "pattern 0");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n"
+        + "mock pattern 20 colors successful\n" + "pattern successful\n" + "pattern failed\n"
+        + "Invalid number of colors.", log.toString());
+  }
+
+  /**
+   * Test method for pattern command with invalid color matching mode.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testPatternCommandInvalidArguments() throws IOException {
+    Reader in = new StringReader("pattern rgb");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("pattern failed\n" + "Invalid color matching mode.", log.toString());
+  }
+
+  /**
+   * Test method for reset command.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testResetCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "blur\n" + "reset");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "mock blur successful\n"
+        + "blur successful\n" + "mock reset successful\n" + "reset successful\n",
+        log.toString());
+  }
+
+  /**
+   * Test method for threads command.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testThreadsCommand() throws IOException {
+    Reader in = new StringReader("threads 4\n" + "load res/sample1.jpg\n" + "pattern");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock threads successful\n" + "threads successful\n" + "mock load successful\n"
+        + "load successful\n" + "mock pattern successful\n" + "pattern successful\n",
+        log.toString());
+  }
+
+  /**
+   * Test method for threads command.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testThreadsCommandInvalidArguments() throws IOException {
+    Reader in = new StringReader("threads 0");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("threads failed\n" + "Invalid number of threads.", log.toString());
+  }
+
   /**
    * Test method for save command.
    * 
@@ -269,6 +520,22 @@ public class ImageControllerTest {
         log.toString());
   }
 
+  /**
+   * Test method for save command with ppm images and the standard output.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testSavePpmImageCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "save res/sample1.ppm\n" + "save -");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n"
+        + "mock Saving to file succesful\n" + "mock Saving to file succesful\n"
+        + "Saving to file successful\n" + "Saving to file successful\n", log.toString());
+  }
+
   /**
    * Test method for savetext command.
    * 
@@ -285,6 +552,36 @@ public class ImageControllerTest {
         + "Saving to text successful\n", log.toString());
   }
 
+  /**
+   * Test method for print pattern command.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+  @Test
+  public void testPrintPatternCommand() throws IOException {
+    Reader in = new StringReader("load res/sample1.jpg\n" + "pattern\n" + "printpattern");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(mockModel);
+    assertEquals("mock load successful\n" + "load successful\n" + "mock pattern successful\n"
+        + "pattern successful\n" + "mock printpattern successful\n"
+        + "printpattern successful\n", log.toString());
+  }
+
+  /**
+   * Test method for print pattern command which fails because no image has
+   * been loaded, and reports the reason.
+   * 
+   * @throws IOException for invalid file locations.
+   */
+
+  @Test
+  public void testPrintPatternCommandWithoutImage() throws IOException {
+    Reader in = new StringReader("printpattern");
+    controller = new ImageControllerImpl(in, log);
+    controller.start(new ImageProcessingModelImpl());
+    assertEquals("printpattern failed\n" + "Image not loaded yet.", log.toString());
+  }
+
   /**
    * Test method for invalid command.
    * 
@@ -1,11 +1,17 @@
 import controller.ImageControllerImpl;
 import model.ImageProcessingModel;
+import model.PatternResult;
 import model.channel.ColorChannel;
+import model.channel.FlossMetric;
+import model.utils.BorderMode;
 import model.image.ImageImpl;
 
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 /**
  * Mock model class implementing {@link ImageProcessingModel}. Represents a mock
@@ -33,11 +39,36 @@ public class MockImageProcessingModelImpl implements ImageProcessingModel {
     log.append("mock blur successful\n");
   }
 
+  @Override
+  public void blurImage(BorderMode border) {
+    log.append("mock blur " + border.name().toLowerCase() + " successful\n");
+  }
+
+  @Override
+  public void blurImage(int radius, BorderMode border) {
+    log.append("mock blur " + radius + " successful\n");
+  }
+
+  @Override
+  public void boxBlurImage(int radius, BorderMode border) {
+    log.append("mock boxblur " + radius + " successful\n");
+  }
+
+  @Override
+  public void gaussianBoxBlurImage(int radius, BorderMode border) {
+    log.append("mock gaussian boxblur " + radius + " successful\n");
+  }
+
   @Override
   public void sharpenImage() {
     log.append("mock sharpen successful\n");
   }
 
+  @Override
+  public void sharpenImage(BorderMode border) {
+    log.append("mock sharpen " + border.name().toLowerCase() + " successful\n");
+  }
+
   @Override
   public void greyscaleImage() {
     log.append("mock greyscale successful\n");
@@ -63,6 +94,12 @@ public class MockImageProcessingModelImpl implements ImageProcessingModel {
     log.append("mock Saving to file succesful\n");
   }
 
+  @Override
+  public Future<Void> saveImageAsync(String filename) {
+    log.append("mock Saving to file succesful\n");
+    return CompletableFuture.completedFuture(null);
+  }
+
   @Override
   public void mosaicImage(int numberOfSeeds) throws IllegalArgumentException {
     log.append("mock mosaic successful\n");
@@ -78,17 +115,52 @@ public class MockImageProcessingModelImpl implements ImageProcessingModel {
     log.append("mock pattern successful\n");
   }
 
+  @Override
+  public void patternImage(String filename, FlossMetric metric) throws IOException {
+    log.append("mock pattern " + metric.name().toLowerCase() + " successful\n");
+  }
+
+  @Override
+  public void patternImage(String filename, int numberOfColors) throws IOException {
+    log.append("mock pattern " + numberOfColors + " colors successful\n");
+  }
+
+  @Override
+  public void flossDitherImage(String filename) throws IOException {
+    log.append("mock flossdither successful\n");
+  }
+
   @Override
   public void savePattern(String filename, String flossFile) throws IOException {
     log.append("mock Saving to text successful\n");
   }
 
+  @Override
+  public void writePattern(Appendable output, String flossFile) throws IOException {
+    log.append("mock printpattern successful\n");
+  }
+
+  @Override
+  public PatternResult getPattern(String flossFile) throws IOException {
+    return null;
+  }
+
   @Override
   public void loadImage(String filename) throws IOException {
     new ImageImpl(filename);
     log.append("mock load successful\n");
   }
 
+  @Override
+  public void loadImage(String filename, int width, int height, Rectangle region)
+      throws IOException {
+    new ImageImpl(filename);
+    log.append("mock load " + width + "x" + height
+        + (null == region ? "" : " " + region.x + "," + region.y + "," + region.width + ","
+            + region.height)
+        + " successful\n");
+  }
+
   @Override
   public BufferedImage getBufferedImage() {
     return null;
@@ -126,4 +198,19 @@ public class MockImageProcessingModelImpl implements ImageProcessingModel {
     // no action required
   }
 
+  @Override
+  public void resetImage() throws IllegalArgumentException {
+    log.append("mock reset successful\n");
+  }
+
+  @Override
+  public void setOriginalCompression(boolean compressed) {
+    // no action required
+  }
+
+  @Override
+  public void setParallelism(int threads) throws IllegalArgumentException {
+    log.append("mock threads successful\n");
+  }
+
 }